@@ -91,6 +91,9 @@ export const coursePathAPI = {
     api.post("/content/course-path/generate", data),
   getMine: () => api.get("/content/course-path/mine"),
   getById: (id: string) => api.get(`/content/course-path/${id}`),
+  getDetail: (id: string) => api.get(`/content/course-path/${id}/detail`),
+  getReviews: (id: string, cursor?: string) =>
+    api.get(`/content/course-path/${id}/reviews`, { params: { cursor } }),
   enroll: (data: EnrollCoursePathRequest) =>
     api.post("/content/course-path/enroll", data),
   addReview: (data: AddReviewRequest) =>
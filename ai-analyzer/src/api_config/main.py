@@ -28,39 +28,54 @@ TOPIC_COLLECTION = "content_topic"
 USER_COLLECTION = os.getenv("USER_COLLECTION", "user")
 PROGRESS_COLLECTION = os.getenv("PROGRESS_COLLECTION", "content_userCourseProgress")
 
-def _persist_course_path(generation_result: dict, subject: str, difficulty: str, request_id: str, email: Optional[str] = None):
+def _topic_document(t: dict, request_id: str, position: int) -> dict:
+    """Build a content_topic document matching the Spring Boot TopicEntity shape."""
+    video_info = t.get("videoInfo", {})
+    return {
+        "_id": t.get("id") or f"topic-{uuid.uuid4()}",
+        "name": t.get("name"),
+        "description": t.get("description"),
+        "videoInfo": {
+            "youtubeUrl": video_info.get("youtubeUrl"),
+            "title": video_info.get("title"),
+            "startTime": video_info.get("startTime"),
+            "endTime": video_info.get("endTime"),
+        },
+        "prerequisites": t.get("prerequisites", []),
+        "estimatedTimeMin": None,
+        "tags": t.get("tags", []),
+        # Lets the backend stream topics of a generation request while it is still running
+        "generationRequestId": request_id,
+        "position": position,
+    }
+
+def _persist_course_path(generation_result: dict, subject: str, difficulty: str, request_id: str, email: Optional[str] = None,
+                         stored_topic_ids: Optional[set] = None):
     """Transform and store the generated course path & topics into MongoDB.
 
     Mirrors the Spring Boot entity structure provided by user without changing generation logic.
+    Topics listed in stored_topic_ids were already inserted while the course was being generated.
+    Returns True once the course document is stored.
     """
+    stored = False
     try:
         db = get_database()
         data = generation_result.get("data", {})
         course_meta = data.get("coursePath", {})
         topics = data.get("topics", [])
+        stored_topic_ids = stored_topic_ids or set()
 
-        # Insert topics first and collect their IDs
+        # Insert the topics that were not stored yet and collect all IDs in course order
         topic_ids = []
         topic_documents = []
-        for t in topics:
-            topic_id = t.get("id") or f"topic-{uuid.uuid4()}"
-            video_info = t.get("videoInfo", {})
-            topic_doc = {
-                "_id": topic_id,
-                "name": t.get("name"),
-                "description": t.get("description"),
-                "videoInfo": {
-                    "youtubeUrl": video_info.get("youtubeUrl"),
-                    "title": video_info.get("title"),
-                    "startTime": video_info.get("startTime"),
-                    "endTime": video_info.get("endTime"),
-                },
-                "prerequisites": t.get("prerequisites", []),
-                "estimatedTimeMin": None,
-                "tags": t.get("tags", [])
-            }
+        for position, t in enumerate(topics, 1):
+            topic_id = t.get("id")
+            if topic_id and topic_id in stored_topic_ids:
+                topic_ids.append(topic_id)
+                continue
+            topic_doc = _topic_document(t, request_id, position)
             topic_documents.append(topic_doc)
-            topic_ids.append(topic_id)
+            topic_ids.append(topic_doc["_id"])
 
         if topic_documents:
             db[TOPIC_COLLECTION].insert_many(topic_documents)
@@ -77,6 +92,8 @@ def _persist_course_path(generation_result: dict, subject: str, difficulty: str,
                     user_display = user_doc.get("name") or user_doc.get("fullName") or email
             except Exception as ue:
                 print(f"⚠️ User lookup failed for {email}: {ue}")
+        # The backend's service account owns pre-generated courses but does not study them
+        enroll_creator = bool(user_id) and "SERVICE" not in (user_doc.get("roles") or [])
 
         # Build course document matching Spring Boot CoursePathEntity shape
         course_id = course_meta.get("id") or f"course-{uuid.uuid4()}"
@@ -84,15 +101,22 @@ def _persist_course_path(generation_result: dict, subject: str, difficulty: str,
             "_id": course_id,
             "creatorId": user_id,
             "title": course_meta.get("title", f"{subject} Learning Path"),
+            "subject": subject,
+            "generationRequestId": request_id,
             "description": course_meta.get("description"),
             "targetLevel": course_meta.get("targetLevel", difficulty),
             "createdAt": int(time.time() * 1000),
             "createdBy": user_display or "analyzer-service",
             "topics": topic_ids,
-            "reviews": [],
+            # Reviews live in their own collection; the backend keeps these counters with $inc
+            "reviewCount": 0,
+            "ratingSum": 0,
             "averageRating": None,
+            # The creator is enrolled below; later enrollments are counted by the backend with $inc
+            "enrollmentCount": 1 if enroll_creator else 0,
         }
         db[COURSE_COLLECTION].insert_one(course_doc)
+        stored = True
         print(f"📦 Stored course {course_id} with {len(topic_ids)} topics in MongoDB")
 
         # If we have a user, add back-references and create progress document
@@ -106,62 +130,88 @@ def _persist_course_path(generation_result: dict, subject: str, difficulty: str,
             except Exception as ue:
                 print(f"⚠️ Failed to update user's createdCoursePaths for {user_id}: {ue}")
 
-            # Enroll user into the newly created course
-            try:
-                db[USER_COLLECTION].update_one(
-                    {"_id": user_id},
-                    {"$addToSet": {"enrolledCoursePaths": course_id}}
-                )
-                print(f"📝 Enrolled user {user_id} into course {course_id}")
-            except Exception as ue_enroll:
-                print(f"⚠️ Failed to enroll user {user_id} into course {course_id}: {ue_enroll}")
-
-            try:
-                now_ms = int(time.time() * 1000)
-                progress_id = f"progress-{uuid.uuid4()}"
-                progress_entries = [
-                    {
-                        "topicId": tid,
-                        "isCovered": False,
-                        "lastUpdated": now_ms
-                    }
-                    for tid in topic_ids
-                ]
-                progress_doc = {
-                    "_id": progress_id,
-                    "userId": user_id,
-                    "coursePathId": course_id,
-                    "startedAt": now_ms,
-                    "readiness": 0,
-                    "progress": progress_entries
-                }
-                db[PROGRESS_COLLECTION].insert_one(progress_doc)
-                print(f"🧭 Created progress {progress_id} for user {user_id} on course {course_id}")
-
-                # Add progress reference to user's progress list
+            if enroll_creator:
+                # Enroll user into the newly created course
                 try:
                     db[USER_COLLECTION].update_one(
                         {"_id": user_id},
-                        {"$addToSet": {"courseProgressList": progress_id}}
+                        {"$addToSet": {"enrolledCoursePaths": course_id}}
                     )
-                except Exception as ue2:
-                    print(f"⚠️ Failed to update user's courseProgressList for {user_id}: {ue2}")
-            except Exception as pe:
-                print(f"⚠️ Failed to create progress for user {user_id}: {pe}")
+                    print(f"📝 Enrolled user {user_id} into course {course_id}")
+                except Exception as ue_enroll:
+                    print(f"⚠️ Failed to enroll user {user_id} into course {course_id}: {ue_enroll}")
+
+                try:
+                    now_ms = int(time.time() * 1000)
+                    progress_id = f"progress-{uuid.uuid4()}"
+                    progress_entries = [
+                        {
+                            "topicId": tid,
+                            "isCovered": False,
+                            "lastUpdated": now_ms
+                        }
+                        for tid in topic_ids
+                    ]
+                    progress_doc = {
+                        "_id": progress_id,
+                        "userId": user_id,
+                        "coursePathId": course_id,
+                        "startedAt": now_ms,
+                        "readiness": 0,
+                        "progress": progress_entries
+                    }
+                    db[PROGRESS_COLLECTION].insert_one(progress_doc)
+                    print(f"🧭 Created progress {progress_id} for user {user_id} on course {course_id}")
+
+                    # Add progress reference to user's progress list
+                    try:
+                        db[USER_COLLECTION].update_one(
+                            {"_id": user_id},
+                            {"$addToSet": {"courseProgressList": progress_id}}
+                        )
+                    except Exception as ue2:
+                        print(f"⚠️ Failed to update user's courseProgressList for {user_id}: {ue2}")
+                except Exception as pe:
+                    print(f"⚠️ Failed to create progress for user {user_id}: {pe}")
     except Exception as e:
         print(f"❌ Persistence error: {e}")
+    return stored
+
+def _discard_topics(request_id: str):
+    """Remove the topics of a request that never got its course document, so they do not linger in content_topic."""
+    try:
+        deleted = get_database()[TOPIC_COLLECTION].delete_many({"generationRequestId": request_id}).deleted_count
+        if deleted:
+            print(f"🧹 Removed {deleted} topics of failed request {request_id}")
+    except Exception as de:
+        print(f"⚠️ Failed to remove topics of failed request {request_id}: {de}")
 
 def _background_generate_and_store(subject: str, difficulty: str, request_id: str, email: Optional[str] = None):
     """Background task wrapper that generates and persists the course path."""
     print(f"🛠️ Background generation started for request {request_id}")
+    stored_topic_ids = set()
+
+    def _store_topic(topic: dict, position: int):
+        # Store each topic as soon as it is analyzed; the course document is written once all are done
+        try:
+            topic_doc = _topic_document(topic, request_id, position)
+            get_database()[TOPIC_COLLECTION].insert_one(topic_doc)
+            topic["id"] = topic_doc["_id"]
+            stored_topic_ids.add(topic_doc["_id"])
+        except Exception as te:
+            print(f"⚠️ Failed to store topic early for request {request_id}: {te}")
+
+    stored = False
     try:
-        result = create_complete_course(subject=subject, difficulty_level=difficulty)
+        result = create_complete_course(subject=subject, difficulty_level=difficulty, on_topic=_store_topic)
         if result.get("success"):
-            _persist_course_path(result, subject, difficulty, request_id, email=email)
+            stored = _persist_course_path(result, subject, difficulty, request_id, email=email, stored_topic_ids=stored_topic_ids)
         else:
             print(f"⚠️ Generation failed for {request_id}: {result.get('error')}")
     except Exception as e:
         print(f"💥 Unhandled error during background generation {request_id}: {e}")
+    if not stored:
+        _discard_topics(request_id)
     print(f"✅ Background generation finished for request {request_id}")
 
 # Load environment variables
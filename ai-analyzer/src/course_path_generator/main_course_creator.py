@@ -2,7 +2,7 @@
 
 import json
 import time
-from typing import Dict, Any
+from typing import Dict, Any, Callable, Optional
 
 # Import our custom modules
 from src.course_path_generator.get_topics import generate_learning_topics
@@ -10,7 +10,8 @@ from src.course_path_generator.get_youtube_videos import get_youtube_videos_for_
 from src.course_path_generator.create_course_path import create_course_path, print_course_path
 
 
-def fetch_and_analyze_topics_individually(topics: list[str], subject: str, difficulty_level: str) -> list[Dict[str, Any]]:
+def fetch_and_analyze_topics_individually(topics: list[str], subject: str, difficulty_level: str,
+                                          on_topic: Optional[Callable[[Dict[str, Any], int], None]] = None) -> list[Dict[str, Any]]:
 
     
     # Import required modules
@@ -76,6 +77,10 @@ def fetch_and_analyze_topics_individually(topics: list[str], subject: str, diffi
                 )
                 analyzed_topics.append(topic_structure)
                 print(f"    ✅ Successfully analyzed '{topic}'")
+                # Hand the topic over right away so it can be stored before the rest are analyzed.
+                # Its position skips topics that were dropped, like the final topic list does.
+                if on_topic:
+                    on_topic(topic_structure, len(analyzed_topics))
             else:
                 print(f"    ❌ Failed to analyze '{topic}'")
                 
@@ -86,7 +91,8 @@ def fetch_and_analyze_topics_individually(topics: list[str], subject: str, diffi
     return analyzed_topics
 
 
-def create_complete_course(subject: str, difficulty_level: str) -> Dict[str, Any]:
+def create_complete_course(subject: str, difficulty_level: str,
+                           on_topic: Optional[Callable[[Dict[str, Any], int], None]] = None) -> Dict[str, Any]:
    
     
     print("🚀 Starting Complete Course Creation Process")
@@ -114,7 +120,7 @@ def create_complete_course(subject: str, difficulty_level: str) -> Dict[str, Any
         print("-" * 50)
         
         start_time = time.time()
-        analyzed_topics = fetch_and_analyze_topics_individually(topics, subject, difficulty_level)
+        analyzed_topics = fetch_and_analyze_topics_individually(topics, subject, difficulty_level, on_topic=on_topic)
         step2_time = time.time() - start_time
         
         total_analyzed = len(analyzed_topics)
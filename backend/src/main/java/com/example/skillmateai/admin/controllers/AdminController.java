@@ -4,19 +4,36 @@ import com.example.skillmateai.admin.dtos.DeleteCoursePathRequest;
 import com.example.skillmateai.admin.dtos.DeleteUserRequest;
 import com.example.skillmateai.admin.dtos.SearchUserRequest;
 import com.example.skillmateai.admin.dtos.ManageAdminPrivilegeRequest;
+import com.example.skillmateai.admin.dtos.PregenerateCoursePathsRequest;
 import com.example.skillmateai.admin.services.AdminService;
 import com.example.skillmateai.admin.utilities.CreateAdminResponseUtil;
-import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CourseGenerationBatchEntity;
+import com.example.skillmateai.content.entities.GenerationBatchItem;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.utilities.MatchTextPatternUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -27,9 +44,13 @@ public class AdminController {
     private final AdminService adminService;
     private final CreateAdminResponseUtil createAdminResponseUtil;
     private final MatchTextPatternUtil matchTextPatternUtil;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @GetMapping("/users")
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
+    public ResponseEntity<Map<String, Object>> getUsers(@RequestParam(defaultValue = "50") int limit,
+                                                        @RequestParam(required = false) String cursor) {
         try {
             // Check user verification
             ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
@@ -37,21 +58,40 @@ public class AdminController {
                 return verificationResult;
             }
             
-            List<UserEntity> users = adminService.getAllUsers();
-            List<Map<String, Object>> userInfoList = createAdminResponseUtil.createUserInfoList(users);
-            return ResponseEntity.ok(createAdminResponseUtil.withData(true, "Users fetched successfully", "users", userInfoList, "totalCount", users.size()));
+            AdminService.UserPage page = adminService.getUsers(limit, cursor);
+            List<Map<String, Object>> userInfoList = createAdminResponseUtil.createUserInfoList(page.users());
+            Map<String, Object> response = createAdminResponseUtil.withData(true, "Users fetched successfully", "users", userInfoList, "nextCursor", page.nextCursor());
+            if (page.totalCount() != null) {
+                response.put("totalCount", page.totalCount());
+            }
+            return ResponseEntity.ok(response);
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
                     .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
         } catch (Exception e) {
-            log.error("Unexpected error in getAllUsers: {}", e.getMessage(), e);
+            log.error("Unexpected error in getUsers: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(createAdminResponseUtil.basic(false, "Internal server error"));
         }
     }
 
+    @GetMapping("/users/export")
+    public ResponseEntity<?> exportUsers() {
+        // Check user verification
+        ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+        if (verificationResult != null) {
+            return verificationResult;
+        }
+        return ndjsonExport("users.ndjson", out -> {
+            try (Stream<UserEntity> users = adminService.streamUsers()) {
+                writeNdjson(out, users.map(createAdminResponseUtil::createUserInfoMap));
+            }
+        });
+    }
+
     @GetMapping("/course-paths")
-    public ResponseEntity<Map<String, Object>> getAllCoursePaths() {
+    public ResponseEntity<Map<String, Object>> getCoursePaths(@RequestParam(defaultValue = "50") int limit,
+                                                              @RequestParam(required = false) String cursor) {
         try {
             // Check user verification
             ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
@@ -59,14 +99,53 @@ public class AdminController {
                 return verificationResult;
             }
             
-            List<CoursePathEntity> coursePaths = adminService.getAllCoursePaths();
-            List<Map<String, Object>> coursePathInfoList = createAdminResponseUtil.createCoursePathInfoList(coursePaths);
-            return ResponseEntity.ok(createAdminResponseUtil.withData(true, "Course paths fetched successfully", "coursePaths", coursePathInfoList, "totalCount", coursePaths.size()));
+            AdminService.CoursePathPage page = adminService.getCoursePaths(limit, cursor);
+            List<Map<String, Object>> coursePathInfoList = createAdminResponseUtil.createCoursePathInfoList(page.coursePaths());
+            Map<String, Object> response = createAdminResponseUtil.withData(true, "Course paths fetched successfully", "coursePaths", coursePathInfoList, "nextCursor", page.nextCursor());
+            if (page.totalCount() != null) {
+                response.put("totalCount", page.totalCount());
+            }
+            return ResponseEntity.ok(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e) {
+            log.error("Unexpected error in getCoursePaths: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(createAdminResponseUtil.basic(false, "Internal server error"));
+        }
+    }
+
+    @GetMapping("/course-paths/export")
+    public ResponseEntity<?> exportCoursePaths() {
+        // Check user verification
+        ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+        if (verificationResult != null) {
+            return verificationResult;
+        }
+        return ndjsonExport("course-paths.ndjson", out -> {
+            try (Stream<CoursePathSummary> coursePaths = adminService.streamCoursePaths()) {
+                writeNdjson(out, coursePaths.map(createAdminResponseUtil::createCoursePathInfoMap));
+            }
+        });
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            Map<String, Object> metrics = adminService.getMetrics();
+            return ResponseEntity.ok(createAdminResponseUtil.withData(true, "Metrics fetched successfully", "metrics", metrics));
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
                     .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
         } catch (Exception e) {
-            log.error("Unexpected error in getAllCoursePaths: {}", e.getMessage(), e);
+            log.error("Unexpected error in getMetrics: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(createAdminResponseUtil.basic(false, "Internal server error"));
         }
@@ -209,4 +288,110 @@ public class AdminController {
                     .body(createAdminResponseUtil.basic(false, "Internal server error"));
         }
     }
+
+    /**
+     * Queues a batch of (subject, difficulty) pairs for generation under the catalog service account.
+     * Items are fed to the analyzer only while it has idle capacity; follow progress with GET /course-paths/pregenerate/{batchId}.
+     */
+    @PostMapping("/course-paths/pregenerate")
+    public ResponseEntity<Map<String, Object>> pregenerateCoursePaths(@RequestBody PregenerateCoursePathsRequest request) {
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(createAdminResponseUtil.basic(false, "At least one item is required"));
+            }
+
+            List<GenerationBatchItem> items = new ArrayList<>();
+            for (PregenerateCoursePathsRequest.Item item : request.getItems()) {
+                if (item == null) {
+                    return ResponseEntity.badRequest()
+                            .body(createAdminResponseUtil.basic(false, "Every item needs a subject and a difficulty"));
+                }
+                items.add(GenerationBatchItem.builder().subject(item.getSubject()).difficulty(item.getDifficulty()).build());
+            }
+
+            CourseGenerationBatchEntity batch = adminService.pregenerateCoursePaths(items);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(createAdminResponseUtil.withData(true, "Course paths queued for pre-generation", "batch", createAdminResponseUtil.createGenerationBatchMap(batch)));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e) {
+            log.error("Unexpected error in pregenerateCoursePaths: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(createAdminResponseUtil.basic(false, "Internal server error"));
+        }
+    }
+
+    @GetMapping("/course-paths/pregenerate/{batchId}")
+    public ResponseEntity<Map<String, Object>> getPregenerationBatch(@PathVariable String batchId) {
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            CourseGenerationBatchEntity batch = adminService.getPregenerationBatch(batchId);
+            return ResponseEntity.ok(createAdminResponseUtil.withData(true, "Pre-generation batch fetched successfully", "batch", createAdminResponseUtil.createGenerationBatchMap(batch)));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e) {
+            log.error("Unexpected error in getPregenerationBatch: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(createAdminResponseUtil.basic(false, "Internal server error"));
+        }
+    }
+
+    @GetMapping("/course-paths/pregenerate")
+    public ResponseEntity<Map<String, Object>> getRecentPregenerationBatches() {
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createAdminResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            List<Map<String, Object>> batches = new ArrayList<>();
+            for (CourseGenerationBatchEntity batch : adminService.getRecentPregenerationBatches()) {
+                batches.add(createAdminResponseUtil.createGenerationBatchMap(batch));
+            }
+            return ResponseEntity.ok(createAdminResponseUtil.withData(true, "Pre-generation batches fetched successfully", "batches", batches, "totalCount", batches.size()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createAdminResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e) {
+            log.error("Unexpected error in getRecentPregenerationBatches: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(createAdminResponseUtil.basic(false, "Internal server error"));
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjsonExport(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    // Writes one JSON document per line while the cursor is read, so memory stays flat whatever the collection size
+    private void writeNdjson(OutputStream out, Stream<Map<String, Object>> rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Map<String, Object> row = iterator.next();
+            if (row != null) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.skillmateai.admin.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PregenerateCoursePathsRequest {
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        private String subject;
+        private String difficulty; // beginner, intermediate, advanced
+    }
+}
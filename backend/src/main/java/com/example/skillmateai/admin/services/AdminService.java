@@ -1,21 +1,41 @@
 package com.example.skillmateai.admin.services;
 
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CourseGenerationBatchEntity;
 import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.GenerationBatchItem;
 import com.example.skillmateai.content.entities.UserCourseProgressEntity;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
 import com.example.skillmateai.content.repositories.CoursePathRepository;
 import com.example.skillmateai.content.repositories.TopicRepository;
 import com.example.skillmateai.content.repositories.UserCourseProgressRepository;
+import com.example.skillmateai.content.services.CatalogPregenerationService;
+import com.example.skillmateai.content.services.ContentDocumentCache;
+import com.example.skillmateai.content.services.ProgressService;
+import com.example.skillmateai.content.services.ReviewService;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
+import com.example.skillmateai.user.services.TokenVersionService;
+import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,25 +46,140 @@ public class AdminService {
     private final CoursePathRepository coursePathRepository;
     private final TopicRepository topicRepository;
     private final UserCourseProgressRepository userCourseProgressRepository;
-
-    public List<UserEntity> getAllUsers() {
+    private final TokenVersionService tokenVersionService;
+    private final List<MetricsReporter> metricsReporters;
+    private final CatalogPregenerationService catalogPregenerationService;
+    private final ProgressService progressService;
+    private final ContentDocumentCache contentDocumentCache;
+    private final ReviewService reviewService;
+    private final GetAuthenticatedUserUtil getAuthenticatedUserUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.admin.maxPageSize:200}")
+    private int maxPageSize;
+
+    public record UserPage(List<UserEntity> users, String nextCursor, Long totalCount) {}
+
+    public record CoursePathPage(List<CoursePathSummary> coursePaths, String nextCursor, Long totalCount) {}
+
+    private record PageCursor(long createdAt, String id) {}
+
+    /**
+     * Returns one page of users, oldest first. The cursor encodes the creation time and id of the previous
+     * page's last user. Only the listed fields are read; the estimated total is included on the first page.
+     */
+    public UserPage getUsers(int limit, String cursor) {
         try {
-            return userRepository.findAll();
+            validateLimit(limit);
+            boolean firstPage = cursor == null || cursor.isBlank();
+            // One extra document tells whether another page exists
+            List<UserEntity> users;
+            if (firstPage) {
+                users = userRepository.findAdminInfo(Limit.of(limit + 1));
+            } else {
+                PageCursor after = decodeCursor(cursor);
+                users = userRepository.findAdminInfoAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+            }
+            String nextCursor = null;
+            if (users.size() > limit) {
+                users = new ArrayList<>(users.subList(0, limit));
+                UserEntity last = users.get(limit - 1);
+                nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+            }
+            return new UserPage(users, nextCursor, firstPage ? mongoTemplate.estimatedCount(UserEntity.class) : null);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Unexpected error fetching all users: {}", e.getMessage(), e);
+            log.error("Unexpected error fetching users: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching users");
         }
     }
 
-    public List<CoursePathEntity> getAllCoursePaths() {
+    /**
+     * Returns one page of course paths, oldest first. The cursor encodes the creation time and id of the
+     * previous page's last course path.
+     */
+    public CoursePathPage getCoursePaths(int limit, String cursor) {
         try {
-            return coursePathRepository.findAll();
+            validateLimit(limit);
+            boolean firstPage = cursor == null || cursor.isBlank();
+            Long afterCreatedAt = null;
+            String afterId = null;
+            if (!firstPage) {
+                PageCursor after = decodeCursor(cursor);
+                afterCreatedAt = after.createdAt();
+                afterId = after.id();
+            }
+            List<CoursePathSummary> coursePaths = coursePathRepository.findAdminSummaries(afterCreatedAt, afterId, limit + 1);
+            String nextCursor = null;
+            if (coursePaths.size() > limit) {
+                coursePaths = new ArrayList<>(coursePaths.subList(0, limit));
+                CoursePathSummary last = coursePaths.get(limit - 1);
+                nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+            }
+            return new CoursePathPage(coursePaths, nextCursor, firstPage ? mongoTemplate.estimatedCount(CoursePathEntity.class) : null);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Unexpected error fetching all course paths: {}", e.getMessage(), e);
+            log.error("Unexpected error fetching course paths: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching course paths");
         }
     }
 
+    /**
+     * Every user with the listing fields, read through a Mongo cursor. The caller must close the stream.
+     */
+    public Stream<UserEntity> streamUsers() {
+        return userRepository.streamAdminInfo();
+    }
+
+    /**
+     * Every course path with the listing fields, read through a Mongo cursor. The caller must close the stream.
+     */
+    public Stream<CoursePathSummary> streamCoursePaths() {
+        return coursePathRepository.streamAdminSummaries();
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxPageSize);
+        }
+    }
+
+    // Cursors are the base64url of "createdAt:id"; ids may be generated strings or ObjectId hex
+    private static String encodeCursor(long createdAt, String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((createdAt + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decodeCursor(String cursor) {
+        String[] parts;
+        long createdAt;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            createdAt = Long.parseLong(parts[0]);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if (parts.length != 2 || parts[1].isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        return new PageCursor(createdAt, parts[1]);
+    }
+
+    public Map<String, Object> getMetrics() {
+        try {
+            Map<String, Object> metrics = new TreeMap<>();
+            for (MetricsReporter reporter : metricsReporters) {
+                metrics.put(reporter.getMetricsName(), reporter.getMetrics());
+            }
+            return metrics;
+        } catch (Exception e) {
+            log.error("Unexpected error collecting metrics: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error collecting metrics");
+        }
+    }
+
     public void deleteUser(String userId) {
         try {
             if (userId == null || userId.isBlank()) {
@@ -69,14 +204,28 @@ public class AdminService {
                 for (CoursePathEntity coursePath : userCoursePaths) {
                     if (coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()) {
                         topicRepository.deleteAllById(coursePath.getTopics());
+                        contentDocumentCache.invalidateTopics(coursePath.getTopics());
                     }
                 }
                 coursePathRepository.deleteAll(userCoursePaths);
+                for (CoursePathEntity coursePath : userCoursePaths) {
+                    reviewService.deleteReviews(coursePath.getId());
+                    contentDocumentCache.invalidateCoursePath(coursePath.getId());
+                    eventPublisher.publishEvent(new CoursePathDeletedEvent(this, coursePath.getId()));
+                }
                 log.info("Deleted {} course paths created by user {}", userCoursePaths.size(), userId);
             }
 
+            // The user's enrollments no longer count towards the remaining course paths
+            if (user.getEnrolledCoursePaths() != null) {
+                for (String enrolledCoursePathId : user.getEnrolledCoursePaths()) {
+                    progressService.changeEnrollmentCount(enrolledCoursePathId, -1);
+                }
+            }
+
             // Finally delete the user
             userRepository.delete(user);
+            tokenVersionService.evict(userId);
             log.info("Successfully deleted user with ID: {}", userId);
 
         } catch (ResponseStatusException e) {
@@ -100,6 +249,7 @@ public class AdminService {
             // Delete associated topics
             if (coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()) {
                 topicRepository.deleteAllById(coursePath.getTopics());
+                contentDocumentCache.invalidateTopics(coursePath.getTopics());
                 log.info("Deleted {} topics for course path {}", coursePath.getTopics().size(), coursePathId);
             }
 
@@ -124,6 +274,9 @@ public class AdminService {
 
             // Finally delete the course path
             coursePathRepository.delete(coursePath);
+            reviewService.deleteReviews(coursePathId);
+            contentDocumentCache.invalidateCoursePath(coursePathId);
+            eventPublisher.publishEvent(new CoursePathDeletedEvent(this, coursePathId));
             log.info("Successfully deleted course path with ID: {}", coursePathId);
 
         } catch (ResponseStatusException e) {
@@ -169,6 +322,7 @@ public class AdminService {
             }
 
             user.getRoles().add("ADMIN");
+            tokenVersionService.bumpVersion(user);
             userRepository.save(user);
             
             log.info("Granted admin privileges to user with ID: {}", userId);
@@ -196,6 +350,7 @@ public class AdminService {
             }
 
             user.getRoles().remove("ADMIN");
+            tokenVersionService.bumpVersion(user);
             userRepository.save(user);
             
             log.info("Revoked admin privileges from user with ID: {}", userId);
@@ -208,4 +363,41 @@ public class AdminService {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error revoking admin privilege");
         }
     }
+
+    public CourseGenerationBatchEntity pregenerateCoursePaths(List<GenerationBatchItem> items) {
+        try {
+            String adminId = getAuthenticatedUserUtil.getAuthenticatedPrincipal().getUserId();
+            return catalogPregenerationService.createBatch(adminId, items);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error creating pre-generation batch: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error creating pre-generation batch");
+        }
+    }
+
+    public CourseGenerationBatchEntity getPregenerationBatch(String batchId) {
+        try {
+            if (batchId == null || batchId.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch ID is required");
+            }
+            return catalogPregenerationService.getBatch(batchId);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error fetching pre-generation batch {}: {}", batchId, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching pre-generation batch");
+        }
+    }
+
+    public List<CourseGenerationBatchEntity> getRecentPregenerationBatches() {
+        try {
+            return catalogPregenerationService.getRecentBatches();
+        } catch (Exception e) {
+            log.error("Unexpected error fetching pre-generation batches: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching pre-generation batches");
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.skillmateai.admin.utilities;
 
-import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CourseGenerationBatchEntity;
+import com.example.skillmateai.content.entities.GenerationBatchItem;
 import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.user.services.AuthenticatedUserDetails;
 import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,14 +28,15 @@ public class CreateAdminResponseUtil {
      * @return ResponseEntity with error message if user is not authenticated or verified, null if validation passes
      */
     public ResponseEntity<Map<String, Object>> validateUserVerification() {
-        UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
+        // Verification status comes from the request principal, no user document is needed here
+        AuthenticatedUserDetails principal = getAuthenticatedUserUtil.getAuthenticatedPrincipal();
         
-        if (user == null) {
+        if (principal == null) {
             return ResponseEntity.status(401)
                     .body(basic(false, "User not authenticated"));
         }
         
-        if (!user.isVerified()) {
+        if (!principal.isVerified()) {
             return ResponseEntity.status(403)
                     .body(basic(false, "User account is not verified. Please verify your email address"));
         }
@@ -93,14 +97,14 @@ public class CreateAdminResponseUtil {
         }
     }
 
-    public Map<String,Object> createCoursePathInfoMap(CoursePathEntity coursePath) {
+    public Map<String,Object> createCoursePathInfoMap(CoursePathSummary coursePath) {
         try {
             Map<String, Object> coursePathMap = new HashMap<>();
             coursePathMap.put("id", coursePath.getId());
             coursePathMap.put("title", coursePath.getTitle());
             coursePathMap.put("description", coursePath.getDescription());
             coursePathMap.put("targetLevel", coursePath.getTargetLevel());
-            coursePathMap.put("topicCount", coursePath.getTopics() != null ? coursePath.getTopics().size() : 0);
+            coursePathMap.put("topicCount", coursePath.getTopicCount());
             coursePathMap.put("createdAt", coursePath.getCreatedAt());
             coursePathMap.put("createdBy", coursePath.getCreatedBy());
             coursePathMap.put("averageRating", coursePath.getAverageRating());
@@ -112,10 +116,10 @@ public class CreateAdminResponseUtil {
         }
     }
 
-    public List<Map<String,Object>> createCoursePathInfoList(List<CoursePathEntity> coursePaths) {
+    public List<Map<String,Object>> createCoursePathInfoList(List<CoursePathSummary> coursePaths) {
         try {
             List<Map<String,Object>> coursePathInfoList = new ArrayList<>();
-            for(CoursePathEntity coursePath : coursePaths) {
+            for(CoursePathSummary coursePath : coursePaths) {
                 Map<String,Object> coursePathInfo = createCoursePathInfoMap(coursePath);
                 if(coursePathInfo != null) {
                     coursePathInfoList.add(coursePathInfo);
@@ -128,4 +132,39 @@ public class CreateAdminResponseUtil {
             return new ArrayList<>();
         }
     }
+
+    public Map<String,Object> createGenerationBatchMap(CourseGenerationBatchEntity batch) {
+        try {
+            Map<String, Object> batchMap = new HashMap<>();
+            batchMap.put("batchId", batch.getId());
+            batchMap.put("status", batch.getStatus());
+            batchMap.put("requestedBy", batch.getRequestedBy());
+            batchMap.put("createdAt", batch.getCreatedAt());
+            batchMap.put("updatedAt", batch.getUpdatedAt());
+            batchMap.put("completedAt", batch.getCompletedAt());
+
+            Map<GenerationBatchItem.Status, Integer> counts = new HashMap<>();
+            List<Map<String,Object>> items = new ArrayList<>();
+            for(GenerationBatchItem item : batch.getItems()) {
+                counts.merge(item.getStatus(), 1, Integer::sum);
+                Map<String, Object> itemMap = new HashMap<>();
+                itemMap.put("subject", item.getSubject());
+                itemMap.put("difficulty", item.getDifficulty());
+                itemMap.put("status", item.getStatus());
+                itemMap.put("jobId", item.getJobId());
+                itemMap.put("coursePathId", item.getCoursePathId());
+                itemMap.put("message", item.getMessage());
+                itemMap.put("updatedAt", item.getUpdatedAt());
+                items.add(itemMap);
+            }
+            batchMap.put("items", items);
+            batchMap.put("statusCounts", counts);
+            batchMap.put("totalCount", items.size());
+            return batchMap;
+
+        } catch (Exception e) {
+            log.error("Error creating generation batch map: {}", e.getMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package com.example.skillmateai.common.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small in-process LRU cache bounded by entry count and, optionally, by a total weight.
+ * Entries may carry their own expiry time. All operations are synchronized, which is fine
+ * for the short critical sections used here and keeps the LRU order consistent.
+ */
+public class BoundedLruCache<K, V> {
+
+    private record Entry<V>(V value, long weight, long expiresAt) {}
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalWeight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public BoundedLruCache(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE, value -> 1);
+    }
+
+    public BoundedLruCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            remove(key, entry);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    /**
+     * Returns the cached value or loads it outside the lock and caches it. Null results are not cached.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        if (weight > maxWeight) {
+            // A single oversized value would flush everything else, so it is not cached; the previous
+            // value of the key is dropped so readers never see it after this write
+            Entry<V> previous = entries.get(key);
+            if (previous != null) {
+                remove(key, previous);
+                invalidations++;
+            }
+            return;
+        }
+        Entry<V> previous = entries.put(key, new Entry<>(value, weight, expiresAtMillis));
+        if (previous != null) {
+            totalWeight -= previous.weight();
+        }
+        totalWeight += weight;
+        evictIfNeeded();
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            remove(key, entry);
+            invalidations++;
+        }
+    }
+
+    /**
+     * Removes every entry matching the predicate and returns how many were removed.
+     */
+    public synchronized int invalidateIf(BiPredicate<K, V> predicate) {
+        int removed = 0;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> next = iterator.next();
+            if (predicate.test(next.getKey(), next.getValue().value())) {
+                totalWeight -= next.getValue().weight();
+                iterator.remove();
+                removed++;
+            }
+        }
+        invalidations += removed;
+        return removed;
+    }
+
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long lookups = hits + misses;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        if (maxWeight != Long.MAX_VALUE) {
+            stats.put("weight", totalWeight);
+            stats.put("maxWeight", maxWeight);
+        }
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        entries.remove(key);
+        totalWeight -= entry.weight();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalWeight > maxWeight) && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            totalWeight -= eldest.getValue().weight();
+            iterator.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.skillmateai.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed buckets from 1 to 60,000 units. Percentiles are reported as the upper
+ * bound of the bucket they fall in, which is precise enough for dashboards and costs nothing to record.
+ * The unit defaults to milliseconds; in-process work that finishes in microseconds records in microseconds,
+ * and the snapshot keys name the unit the values are in.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, Long.MAX_VALUE
+    };
+
+    private final TimeUnit unit;
+    private final String unitSuffix;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        this(TimeUnit.MILLISECONDS);
+    }
+
+    public LatencyHistogram(TimeUnit unit) {
+        this.unit = unit;
+        this.unitSuffix = switch (unit) {
+            case NANOSECONDS -> "Nanos";
+            case MICROSECONDS -> "Micros";
+            case MILLISECONDS -> "Millis";
+            case SECONDS -> "Seconds";
+            default -> throw new IllegalArgumentException("Unsupported latency unit " + unit);
+        };
+    }
+
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Records a latency given in the histogram's unit.
+     */
+    public void record(long latency) {
+        long value = Math.max(0, latency);
+        int bucket = 0;
+        while (value > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading, converted to the histogram's unit.
+     */
+    public void recordSince(long startedAtNanos) {
+        record(unit.convert(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the upper bound, in the histogram's unit, of the bucket holding the given quantile (0..1), or 0 when empty.
+     */
+    public long percentile(double quantile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(quantile * recorded);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) {
+                // The open-ended bucket has no useful bound, the observed max is better
+                return i == BUCKET_BOUNDS.length - 1 ? max.get() : Math.min(BUCKET_BOUNDS[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public Map<String, Object> snapshot() {
+        long recorded = count.get();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", recorded);
+        snapshot.put("mean" + unitSuffix, recorded == 0 ? 0.0 : (double) total.get() / recorded);
+        snapshot.put("p50" + unitSuffix, percentile(0.50));
+        snapshot.put("p95" + unitSuffix, percentile(0.95));
+        snapshot.put("p99" + unitSuffix, percentile(0.99));
+        snapshot.put("max" + unitSuffix, max.get());
+        return snapshot;
+    }
+}
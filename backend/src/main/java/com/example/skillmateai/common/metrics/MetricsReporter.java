@@ -0,0 +1,14 @@
+package com.example.skillmateai.common.metrics;
+
+import java.util.Map;
+
+/**
+ * Implemented by components that keep in-process counters (caches, pools, queues).
+ * Every reporter bean is listed by the admin metrics endpoint under its name.
+ */
+public interface MetricsReporter {
+
+    String getMetricsName();
+
+    Map<String, Object> getMetrics();
+}
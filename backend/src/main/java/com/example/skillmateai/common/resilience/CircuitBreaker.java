@@ -0,0 +1,115 @@
+package com.example.skillmateai.common.resilience;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row the breaker opens
+ * and rejects calls for {@code openMillis}; it then half-opens and lets up to {@code halfOpenProbes} calls
+ * through. A successful probe closes it again, a failed probe re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private long openedAt;
+    private long rejectedCalls;
+    private long timesOpened;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, int halfOpenProbes) {
+        this(name, failureThreshold, openMillis, halfOpenProbes, System::currentTimeMillis);
+    }
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, int halfOpenProbes, LongSupplier clock) {
+        if (failureThreshold <= 0 || openMillis < 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings for " + name);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns true when the call may proceed. Every permitted call must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+            probesInFlight++;
+            return true;
+        }
+        rejectedCalls++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probesInFlight = 0;
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a permit for a call whose outcome says nothing about the remote side's health.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            // Report the state the next call would see without consuming a probe
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("name", name);
+        snapshot.put("state", getState().name());
+        snapshot.put("consecutiveFailures", consecutiveFailures);
+        snapshot.put("rejectedCalls", rejectedCalls);
+        snapshot.put("timesOpened", timesOpened);
+        if (state == State.OPEN) {
+            snapshot.put("retryAfterMillis", Math.max(0, openMillis - (clock.getAsLong() - openedAt)));
+        }
+        return snapshot;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        probesInFlight = 0;
+        timesOpened++;
+    }
+}
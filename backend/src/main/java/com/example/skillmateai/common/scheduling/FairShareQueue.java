@@ -0,0 +1,111 @@
+package com.example.skillmateai.common.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Per-key FIFO queues served by weighted round-robin: a key with weight w gets up to w items in a row
+ * before the next key with queued items gets its turn, so no single key can monopolize the consumer.
+ */
+public class FairShareQueue<T> {
+
+    private static final class Lane<T> {
+        private final String key;
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private int weight;
+        private int credits;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<String, Lane<T>> lanes = new HashMap<>();
+    private final ArrayDeque<Lane<T>> rotation = new ArrayDeque<>();
+    private int size;
+
+    /**
+     * Queues the item under the key unless the key already has {@code maxQueued} items waiting.
+     * The weight given by the latest offer applies to the key's next turn.
+     */
+    public synchronized boolean offer(String key, int weight, int maxQueued, T item) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        Lane<T> lane = lanes.get(key);
+        if (lane != null && lane.items.size() >= maxQueued) {
+            return false;
+        }
+        if (lane == null) {
+            if (maxQueued <= 0) {
+                return false;
+            }
+            lane = new Lane<>(key);
+            lanes.put(key, lane);
+            rotation.addLast(lane);
+        }
+        lane.weight = weight;
+        lane.items.addLast(item);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the next item in weighted round-robin order, or null when nothing is queued.
+     */
+    public synchronized T poll() {
+        Lane<T> lane = rotation.peekFirst();
+        if (lane == null) {
+            return null;
+        }
+        if (lane.credits <= 0) {
+            lane.credits = lane.weight;
+        }
+        T item = lane.items.pollFirst();
+        lane.credits--;
+        size--;
+
+        if (lane.items.isEmpty()) {
+            rotation.pollFirst();
+            lanes.remove(lane.key);
+        } else if (lane.credits == 0) {
+            rotation.addLast(rotation.pollFirst());
+        }
+        return item;
+    }
+
+    /**
+     * Drops the key's queued items that match the filter, e.g. work cancelled while it was waiting.
+     * Returns how many items were removed.
+     */
+    public synchronized int removeIf(String key, Predicate<? super T> filter) {
+        Lane<T> lane = lanes.get(key);
+        if (lane == null) {
+            return 0;
+        }
+        int before = lane.items.size();
+        lane.items.removeIf(filter);
+        int removed = before - lane.items.size();
+        size -= removed;
+        if (lane.items.isEmpty()) {
+            rotation.remove(lane);
+            lanes.remove(key);
+        }
+        return removed;
+    }
+
+    public synchronized int depth(String key) {
+        Lane<T> lane = lanes.get(key);
+        return lane == null ? 0 : lane.items.size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int keys() {
+        return lanes.size();
+    }
+}
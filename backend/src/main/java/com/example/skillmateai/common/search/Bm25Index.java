@@ -0,0 +1,177 @@
+package com.example.skillmateai.common.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Documents are bags of already normalized terms;
+ * callers weight a field by adding its terms more than once. Queries either match any term (OR) or
+ * every term (AND), and only the top k hits are kept while scoring. In OR mode, terms found in most documents
+ * score the candidates but do not nominate them, so a query with a ubiquitous word does not scan the whole index.
+ * Methods are synchronized so a query never scores against a document whose postings are only half added.
+ */
+public class Bm25Index {
+
+    // A term in more than this share of the documents is common, once the index holds enough documents
+    static final double COMMON_TERM_RATIO = 0.5;
+    static final int MIN_DOCUMENTS_FOR_COMMON_TERMS = 100;
+
+    private final double k1;
+    private final double b;
+
+    // term -> document id -> term frequency
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Map<String, Integer>> termsByDocument = new HashMap<>();
+    private final Map<String, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    public Bm25Index() {
+        this(1.2, 0.75);
+    }
+
+    public Bm25Index(double k1, double b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Adds the document, replacing any previous version with the same id.
+     */
+    public synchronized void put(String id, Collection<String> terms) {
+        remove(id);
+        if (terms.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+        }
+        termsByDocument.put(id, frequencies);
+        documentLengths.put(id, terms.size());
+        totalLength += terms.size();
+    }
+
+    public synchronized void remove(String id) {
+        Map<String, Integer> frequencies = termsByDocument.remove(id);
+        if (frequencies == null) {
+            return;
+        }
+        for (String term : frequencies.keySet()) {
+            Map<String, Integer> documents = postings.get(term);
+            if (documents != null && documents.remove(id) != null && documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+
+    /**
+     * Returns at most {@code limit} hits, best first. With {@code matchAll} a document must contain every query term.
+     */
+    public List<SearchHit> search(Collection<String> queryTerms, boolean matchAll, int limit) {
+        return search(queryTerms, matchAll, limit, null);
+    }
+
+    /**
+     * Same as {@link #search(Collection, boolean, int)} but only returns hits ranked below {@code after},
+     * the last hit of the previous page. The heap stays bounded by {@code limit} however deep the page is.
+     */
+    public synchronized List<SearchHit> search(Collection<String> queryTerms, boolean matchAll, int limit, SearchHit after) {
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        if (terms.isEmpty() || limit <= 0 || documentLengths.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map<String, Integer>> termPostings = new ArrayList<>();
+        for (String term : terms) {
+            Map<String, Integer> documents = postings.get(term);
+            if (documents == null) {
+                if (matchAll) {
+                    return List.of();
+                }
+                continue;
+            }
+            termPostings.add(documents);
+        }
+        if (termPostings.isEmpty()) {
+            return List.of();
+        }
+
+        Collection<String> candidates;
+        if (matchAll) {
+            // Walk the shortest posting list and probe the others
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            candidates = new ArrayList<>();
+            for (String id : termPostings.get(0).keySet()) {
+                boolean inAll = true;
+                for (int i = 1; i < termPostings.size() && inAll; i++) {
+                    inAll = termPostings.get(i).containsKey(id);
+                }
+                if (inAll) {
+                    candidates.add(id);
+                }
+            }
+        } else {
+            List<Map<String, Integer>> nominating = new ArrayList<>();
+            for (Map<String, Integer> documents : termPostings) {
+                if (!isCommon(documents.size())) {
+                    nominating.add(documents);
+                }
+            }
+            if (nominating.isEmpty()) {
+                // Only common terms, the rarest one is the smallest candidate set there is
+                nominating.add(Collections.min(termPostings, Comparator.comparingInt(Map::size)));
+            }
+            Set<String> union = new LinkedHashSet<>();
+            for (Map<String, Integer> documents : nominating) {
+                union.addAll(documents.keySet());
+            }
+            candidates = union;
+        }
+
+        double documentCount = documentLengths.size();
+        double averageLength = (double) totalLength / documentCount;
+        double[] idf = new double[termPostings.size()];
+        for (int i = 0; i < idf.length; i++) {
+            double frequency = termPostings.get(i).size();
+            idf[i] = Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+        }
+
+        TopHits top = new TopHits(limit, after);
+        for (String id : candidates) {
+            double norm = k1 * (1 - b + b * documentLengths.get(id) / averageLength);
+            double score = 0;
+            for (int i = 0; i < termPostings.size(); i++) {
+                Integer frequency = termPostings.get(i).get(id);
+                if (frequency != null) {
+                    score += idf[i] * frequency * (k1 + 1) / (frequency + norm);
+                }
+            }
+            top.offer(id, score);
+        }
+        return top.toList();
+    }
+
+    private boolean isCommon(int documentFrequency) {
+        int documentCount = documentLengths.size();
+        return documentCount >= MIN_DOCUMENTS_FOR_COMMON_TERMS && documentFrequency > COMMON_TERM_RATIO * documentCount;
+    }
+
+    public synchronized int size() {
+        return documentLengths.size();
+    }
+
+    public synchronized int termCount() {
+        return postings.size();
+    }
+}
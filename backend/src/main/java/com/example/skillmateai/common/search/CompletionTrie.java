@@ -0,0 +1,213 @@
+package com.example.skillmateai.common.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix completion trie that caches the best {@code cachedCompletions} entries at every node, so a lookup
+ * only walks the prefix and copies the cached list. Children are kept in sorted parallel arrays rather than
+ * maps to keep nodes small. An entry can be reachable under several keys (e.g. every word start of a title);
+ * updating or removing it only re-ranks the nodes on those keys.
+ * Methods are synchronized: an update re-ranks the cached lists of several nodes, which a lookup must not see half done.
+ */
+public class CompletionTrie {
+
+    public record Completion(String id, String text, double weight) {}
+
+    private static final Comparator<Completion> BEST_FIRST =
+            Comparator.comparingDouble(Completion::weight).reversed().thenComparing(Completion::id);
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    private static final class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        List<Completion> terminals; // entries whose key ends here, usually none
+        Completion[] top = NO_COMPLETIONS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+    }
+
+    private record Entry(Completion completion, Set<String> keys) {}
+
+    private final int cachedCompletions;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long nodeCount = 1;
+
+    public CompletionTrie(int cachedCompletions) {
+        if (cachedCompletions <= 0) {
+            throw new IllegalArgumentException("cachedCompletions must be positive");
+        }
+        this.cachedCompletions = cachedCompletions;
+    }
+
+    /**
+     * Adds or replaces an entry, reachable under each of the given (already normalized) keys.
+     */
+    public synchronized void put(String id, String text, double weight, Collection<String> keys) {
+        remove(id);
+        Set<String> distinctKeys = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key != null && !key.isEmpty()) {
+                distinctKeys.add(key);
+            }
+        }
+        if (distinctKeys.isEmpty()) {
+            return;
+        }
+        Completion completion = new Completion(id, text, weight);
+        entries.put(id, new Entry(completion, distinctKeys));
+        for (String key : distinctKeys) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                Node next = node.child(key.charAt(i));
+                if (next == null) {
+                    next = node.addChild(key.charAt(i));
+                    nodeCount++;
+                }
+                node = next;
+                path.add(node);
+            }
+            if (node.terminals == null) {
+                node.terminals = new ArrayList<>(1);
+            }
+            node.terminals.add(completion);
+            rerank(path);
+        }
+    }
+
+    /**
+     * Changes the weight of an existing entry; does nothing for unknown ids.
+     */
+    public synchronized void updateWeight(String id, double weight) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.completion().weight() != weight) {
+            put(id, entry.completion().text(), weight, entry.keys());
+        }
+    }
+
+    public synchronized void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys()) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+                path.add(node);
+            }
+            if (node == null) {
+                continue;
+            }
+            if (node.terminals != null) {
+                node.terminals.removeIf(completion -> completion.id().equals(id));
+            }
+            // Prune nodes that no longer lead anywhere
+            for (int depth = path.size() - 1; depth > 0 && path.get(depth).isEmpty(); depth--) {
+                path.get(depth - 1).removeChild(key.charAt(depth - 1));
+                path.remove(depth);
+                nodeCount--;
+            }
+            rerank(path);
+        }
+    }
+
+    /**
+     * Best completions for a normalized prefix, at most {@code limit} and never more than the cached count.
+     */
+    public synchronized List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        int count = Math.min(Math.max(0, limit), node.top.length);
+        return List.of(Arrays.copyOf(node.top, count));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Recomputes the cached completions bottom-up along a root-to-node path. A node's best entries are
+     * always among its own terminals and its children's cached lists.
+     */
+    private void rerank(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            Map<String, Completion> candidates = new HashMap<>();
+            if (node.terminals != null) {
+                node.terminals.forEach(completion -> candidates.put(completion.id(), completion));
+            }
+            for (Node child : node.children) {
+                for (Completion completion : child.top) {
+                    candidates.putIfAbsent(completion.id(), completion);
+                }
+            }
+            node.top = candidates.values().stream()
+                    .sorted(BEST_FIRST)
+                    .limit(cachedCompletions)
+                    .toArray(Completion[]::new);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.skillmateai.common.search;
+
+import java.util.Comparator;
+
+/**
+ * A scored document id. Hits rank by descending score, then ascending id so equal scores have a stable order.
+ */
+public record SearchHit(String id, double score) {
+
+    public static final Comparator<SearchHit> BEST_FIRST =
+            Comparator.comparingDouble(SearchHit::score).reversed().thenComparing(SearchHit::id);
+}
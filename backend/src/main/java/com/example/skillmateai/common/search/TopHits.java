@@ -0,0 +1,50 @@
+package com.example.skillmateai.common.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the best {@code limit} hits in a min-heap, optionally only those ranked below {@code after}
+ * (the last hit of the previous page). Memory stays bounded by the page size however many hits are offered.
+ * Not thread-safe; use one per query.
+ */
+public class TopHits {
+
+    private final int limit;
+    private final SearchHit after;
+    private final PriorityQueue<SearchHit> heap;
+
+    public TopHits(int limit, SearchHit after) {
+        this.limit = limit;
+        this.after = after;
+        this.heap = new PriorityQueue<>(Math.max(1, limit + 1), SearchHit.BEST_FIRST.reversed());
+    }
+
+    public void offer(String id, double score) {
+        if (limit <= 0) {
+            return;
+        }
+        SearchHit hit = new SearchHit(id, score);
+        if (after != null && SearchHit.BEST_FIRST.compare(hit, after) <= 0) {
+            // Already returned on an earlier page
+            return;
+        }
+        if (heap.size() == limit) {
+            if (SearchHit.BEST_FIRST.compare(hit, heap.peek()) >= 0) {
+                return;
+            }
+            heap.poll();
+        }
+        heap.offer(hit);
+    }
+
+    /**
+     * The collected hits, best first.
+     */
+    public List<SearchHit> toList() {
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(SearchHit.BEST_FIRST);
+        return hits;
+    }
+}
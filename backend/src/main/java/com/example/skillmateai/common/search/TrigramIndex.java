@@ -0,0 +1,181 @@
+package com.example.skillmateai.common.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant word index. Every distinct word of the indexed documents is split into character trigrams
+ * (padded like "  word ", so short words and word starts count), and a query word is matched against the
+ * words sharing at least one trigram with it, scored by the Dice coefficient of the two trigram sets.
+ * <p>
+ * Candidates come from the trigram postings of the vocabulary, not from the documents, so a lookup touches
+ * a few thousand words at most however many documents share them. A document scores the sum, over query
+ * words, of its best matching word's similarity times that word's weight in the document. Query words whose
+ * matches cover most documents only score the documents found through the other query words.
+ * Methods are synchronized because adding a document updates the vocabulary and its trigram postings together.
+ */
+public class TrigramIndex {
+
+    // A query word whose matches reach more than this share of the documents is common, once there are enough
+    static final double COMMON_WORD_RATIO = 0.5;
+    static final int MIN_DOCUMENTS_FOR_COMMON_WORDS = 100;
+
+    // trigram -> vocabulary words containing it
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    // word -> number of distinct trigrams, kept to score candidates without recomputing them
+    private final Map<String, Integer> trigramCounts = new HashMap<>();
+    // word -> document id -> weight of the word in that document
+    private final Map<String, Map<String, Double>> postings = new HashMap<>();
+    private final Map<String, Map<String, Double>> wordsByDocument = new HashMap<>();
+
+    /**
+     * Adds the document, replacing any previous version with the same id.
+     * @param wordWeights normalized words of the document and how much a match on each one counts
+     */
+    public synchronized void put(String id, Map<String, Double> wordWeights) {
+        remove(id);
+        if (wordWeights.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Double> entry : wordWeights.entrySet()) {
+            String word = entry.getKey();
+            Map<String, Double> documents = postings.get(word);
+            if (documents == null) {
+                documents = new HashMap<>();
+                postings.put(word, documents);
+                Set<String> trigrams = trigrams(word);
+                trigramCounts.put(word, trigrams.size());
+                for (String trigram : trigrams) {
+                    wordsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(word);
+                }
+            }
+            documents.put(id, entry.getValue());
+        }
+        wordsByDocument.put(id, new HashMap<>(wordWeights));
+    }
+
+    public synchronized void remove(String id) {
+        Map<String, Double> words = wordsByDocument.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words.keySet()) {
+            Map<String, Double> documents = postings.get(word);
+            if (documents == null || documents.remove(id) == null || !documents.isEmpty()) {
+                continue;
+            }
+            // Last document using the word, drop it from the vocabulary
+            postings.remove(word);
+            trigramCounts.remove(word);
+            for (String trigram : trigrams(word)) {
+                Set<String> vocabulary = wordsByTrigram.get(trigram);
+                if (vocabulary != null && vocabulary.remove(word) && vocabulary.isEmpty()) {
+                    wordsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} documents ranked below {@code after} (null for the first page), best first.
+     * @param threshold minimum Dice similarity (0..1) between a query word and a document word
+     */
+    public synchronized List<SearchHit> search(Collection<String> queryWords, double threshold, int limit, SearchHit after) {
+        Map<String, Double> scores = new HashMap<>();
+        List<Map<String, Double>> commonMatches = new ArrayList<>();
+        for (String queryWord : new LinkedHashSet<>(queryWords)) {
+            Set<String> queryTrigrams = trigrams(queryWord);
+            if (queryTrigrams.isEmpty()) {
+                continue;
+            }
+
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<String> words = wordsByTrigram.get(trigram);
+                if (words != null) {
+                    for (String word : words) {
+                        shared.merge(word, 1, Integer::sum);
+                    }
+                }
+            }
+
+            Map<String, Double> matches = new HashMap<>();
+            long reach = 0;
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                double similarity = 2.0 * candidate.getValue() / (queryTrigrams.size() + trigramCounts.get(candidate.getKey()));
+                if (similarity >= threshold) {
+                    matches.put(candidate.getKey(), similarity);
+                    reach += postings.get(candidate.getKey()).size();
+                }
+            }
+            if (isCommon(reach)) {
+                commonMatches.add(matches);
+            } else {
+                addBestMatches(matches, scores);
+            }
+        }
+
+        if (scores.isEmpty() && !commonMatches.isEmpty()) {
+            // Only common words matched, so one of them has to nominate the documents
+            addBestMatches(commonMatches.remove(0), scores);
+        }
+        for (Map<String, Double> matches : commonMatches) {
+            for (Map.Entry<String, Double> document : scores.entrySet()) {
+                double best = 0;
+                for (Map.Entry<String, Double> match : matches.entrySet()) {
+                    Double weight = postings.get(match.getKey()).get(document.getKey());
+                    if (weight != null) {
+                        best = Math.max(best, match.getValue() * weight);
+                    }
+                }
+                document.setValue(document.getValue() + best);
+            }
+        }
+
+        TopHits top = new TopHits(limit, after);
+        scores.forEach(top::offer);
+        return top.toList();
+    }
+
+    // Adds, for every document containing one of the matched words, the best similarity times weight among them
+    private void addBestMatches(Map<String, Double> matches, Map<String, Double> scores) {
+        Map<String, Double> best = new HashMap<>();
+        for (Map.Entry<String, Double> match : matches.entrySet()) {
+            for (Map.Entry<String, Double> document : postings.get(match.getKey()).entrySet()) {
+                best.merge(document.getKey(), match.getValue() * document.getValue(), Math::max);
+            }
+        }
+        best.forEach((id, score) -> scores.merge(id, score, Double::sum));
+    }
+
+    private boolean isCommon(long reach) {
+        int documentCount = wordsByDocument.size();
+        return documentCount >= MIN_DOCUMENTS_FOR_COMMON_WORDS && reach > COMMON_WORD_RATIO * documentCount;
+    }
+
+    public synchronized int size() {
+        return wordsByDocument.size();
+    }
+
+    public synchronized int vocabularySize() {
+        return postings.size();
+    }
+
+    static Set<String> trigrams(String word) {
+        Set<String> trigrams = new HashSet<>();
+        if (word.isEmpty()) {
+            return trigrams;
+        }
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.skillmateai.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // Runs analyzer submissions off the request threads so /generate can answer right away
+    @Bean(name = "courseGenerationExecutor")
+    public ThreadPoolTaskExecutor courseGenerationExecutor(
+            @Value("${aiAnalyzer.dispatchThreads:4}") int dispatchThreads,
+            @Value("${aiAnalyzer.dispatchQueueCapacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("course-generation-");
+        executor.initialize();
+        return executor;
+    }
+}
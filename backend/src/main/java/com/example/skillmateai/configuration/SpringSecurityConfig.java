@@ -2,6 +2,7 @@ package com.example.skillmateai.configuration;
 
 import com.example.skillmateai.user.filters.JwtFilter;
 import com.example.skillmateai.user.services.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -48,6 +49,8 @@ public class SpringSecurityConfig {
                 .csrf(csrf -> csrf.disable()) //stateless API, so csrf is disabled
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Make API stateless
                 .authorizeHttpRequests(request -> request
+                        // Async dispatches (SSE streams) continue a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/user/**").hasRole("USER")
                         .requestMatchers("/api/v1/content/**").hasRole("USER")
@@ -57,6 +60,7 @@ public class SpringSecurityConfig {
                         .requestMatchers("/api/v1/auth/forget-password/**").permitAll()
                         .requestMatchers("/api/v1/auth/refresh").permitAll()
                         .requestMatchers("/api/v1/auth/token-verification").permitAll()
+                        .requestMatchers("/ws").permitAll() // STOMP CONNECT carries the token, see StompAuthChannelInterceptor
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
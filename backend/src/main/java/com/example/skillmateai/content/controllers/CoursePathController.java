@@ -4,15 +4,22 @@ package com.example.skillmateai.content.controllers;
 import com.example.skillmateai.content.dtos.GenerateCoursePathRequest;
 import com.example.skillmateai.content.dtos.EnrollCoursePathRequest;
 import com.example.skillmateai.content.dtos.AddReviewRequest;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
 import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.exceptions.GenerationQueueFullException;
+import com.example.skillmateai.content.services.CoursePathBrowseService;
 import com.example.skillmateai.content.services.CoursePathService;
+import com.example.skillmateai.content.services.ReviewService;
 import com.example.skillmateai.content.utilities.CreateContentResponseUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +37,9 @@ public class CoursePathController {
     @Autowired
     private CreateContentResponseUtil createContentResponseUtil;
 
+    @Autowired
+    private CoursePathBrowseService coursePathBrowseService;
+
     // @PostMapping("/generate")
     // public ResponseEntity<Map<String,Object>> generateCoursePath(@RequestBody GenerateCoursePathRequest request){
     //     try {
@@ -71,15 +81,23 @@ public class CoursePathController {
             if(request.getSubject() == null || request.getSubject().isBlank() || request.getDifficulty() == null || request.getDifficulty().isBlank()){
                 return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Subject and difficulty are required"));
             }
-            ResponseEntity<Map<String,Object>> analyzerResponse = coursePathService.generateAndPersistCoursePath(request.getSubject(), request.getDifficulty());
-            if(analyzerResponse.getStatusCode().equals(HttpStatus.ACCEPTED)){
-                // Return 202 with minimal body; do not include analyzer response data
-                return ResponseEntity.status(HttpStatus.ACCEPTED)
-                        .body(createContentResponseUtil.basic(true, "Course path will be generated soon"));
-            } else {
-                // For OK (200) from analyzer, per new policy we still do not return course data here
-                return ResponseEntity.ok(createContentResponseUtil.basic(true, "Course path generated"));
+            if(!request.isForce()){
+                CoursePathEntity existing = coursePathService.findReusableCoursePath(request.getSubject(), request.getDifficulty());
+                if(existing != null){
+                    return ResponseEntity.ok(createContentResponseUtil.withData(true,
+                            "An equivalent course path already exists. Enroll in it, or send force=true to generate a new one",
+                            "existingCoursePath", createContentResponseUtil.createCoursePathSummaryMap(existing),
+                            "alreadyEnrolled", coursePathService.isEnrolledInCoursePath(existing.getId())));
+                }
             }
+
+            // The analyzer runs in the background; the client follows the returned job instead of polling /mine
+            CourseGenerationJobEntity job = coursePathService.generateAndPersistCoursePath(request.getSubject(), request.getDifficulty());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(createContentResponseUtil.withData(true, "Course path will be generated soon", "job", createContentResponseUtil.createGenerationJobMap(job)));
+        } catch (GenerationQueueFullException e){
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getHeaders())
+                    .body(createContentResponseUtil.withData(false, e.getReason(), "retryAfterSeconds", e.getRetryAfterSeconds()));
         } catch (org.springframework.web.server.ResponseStatusException e){
             return ResponseEntity.status(e.getStatusCode())
                     .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
@@ -91,6 +109,50 @@ public class CoursePathController {
 
 
 
+    @GetMapping("/generate/{jobId}")
+    public ResponseEntity<Map<String,Object>> getGenerationJob(@PathVariable String jobId){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            CourseGenerationJobEntity job = coursePathService.getGenerationJob(jobId);
+            return ResponseEntity.ok(createContentResponseUtil.withData(true, "Generation job fetched successfully", "job", createContentResponseUtil.createGenerationJobMap(job)));
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error fetching generation job: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while fetching generation job"));
+        }
+    }
+
+    /**
+     * Streams the job's topics as Server-Sent Events while the analyzer produces them.
+     * Authenticated like every other endpoint, so clients need an SSE client that can send the Authorization header.
+     */
+    @GetMapping("/generate/{jobId}/stream")
+    public ResponseEntity<?> streamGenerationJob(@PathVariable String jobId){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            SseEmitter emitter = coursePathService.streamGenerationJob(jobId);
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error streaming generation job: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while streaming generation job"));
+        }
+    }
+
     @GetMapping("/mine")
     public ResponseEntity<Map<String,Object>> getMyCoursePaths(){
         try {
@@ -104,9 +166,9 @@ public class CoursePathController {
             
             // Extract created and enrolled course paths
             @SuppressWarnings("unchecked")
-            List<CoursePathEntity> createdCoursePaths = (List<CoursePathEntity>) coursePathsData.get("createdCoursePaths");
+            List<CoursePathSummary> createdCoursePaths = (List<CoursePathSummary>) coursePathsData.get("createdCoursePaths");
             @SuppressWarnings("unchecked") 
-            List<CoursePathEntity> enrolledCoursePaths = (List<CoursePathEntity>) coursePathsData.get("enrolledCoursePaths");
+            List<CoursePathSummary> enrolledCoursePaths = (List<CoursePathSummary>) coursePathsData.get("enrolledCoursePaths");
             
             // Create summary lists for both
             List<Map<String,Object>> createdSummaryList = createContentResponseUtil.createCoursePathSummaryList(createdCoursePaths);
@@ -184,7 +246,11 @@ public class CoursePathController {
     // This endpoint is currently experimental and not recommended for production use
 
     @GetMapping("/search")
-    public ResponseEntity<Map<String,Object>> searchCoursePaths(@RequestParam String query){
+    public ResponseEntity<Map<String,Object>> searchCoursePaths(@RequestParam String query,
+                                                                @RequestParam(defaultValue = "any") String match,
+                                                                @RequestParam(defaultValue = "text") String mode,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                @RequestParam(required = false) String cursor){
         try {
             // Check user verification
             ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
@@ -195,9 +261,20 @@ public class CoursePathController {
             if(query == null || query.isEmpty()){
                 return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Search query is required"));
             }
-            List<CoursePathEntity> results = coursePathService.searchSimilarCoursePaths(query);
-            List<Map<String,Object>> searchResults = createContentResponseUtil.createCoursePathSearchResultList(results);
-            return ResponseEntity.ok(createContentResponseUtil.withData(true, "Search completed", "coursePaths", searchResults));
+            if(!match.equalsIgnoreCase("any") && !match.equalsIgnoreCase("all")){
+                return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Match must be either any or all"));
+            }
+            if(!mode.equalsIgnoreCase("text") && !mode.equalsIgnoreCase("fuzzy")){
+                return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Mode must be either text or fuzzy"));
+            }
+            // Fuzzy mode tolerates misspellings ("pyhton") at the cost of looser matches
+            CoursePathService.SearchPage page = coursePathService.searchSimilarCoursePaths(query, match.equalsIgnoreCase("all"),
+                    mode.equalsIgnoreCase("fuzzy"), limit, cursor);
+            List<Map<String,Object>> searchResults = createContentResponseUtil.createCoursePathSearchResultList(page.coursePaths());
+            return ResponseEntity.ok(createContentResponseUtil.withData(true, "Search completed", "coursePaths", searchResults, "nextCursor", page.nextCursor()));
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
         } catch (Exception e){
             log.error("Error searching course paths: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while searching"));
@@ -205,6 +282,74 @@ public class CoursePathController {
     }
 
 
+    /**
+     * Autocomplete for the search box: course titles and popular tags starting with the typed prefix.
+     * Served from memory, so it is cheap enough to call on every keystroke.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String,Object>> suggestCoursePaths(@RequestParam String prefix,
+                                                                 @RequestParam(defaultValue = "10") int limit){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            List<Map<String,Object>> suggestions = createContentResponseUtil.createSuggestionList(coursePathService.suggestCoursePaths(prefix, limit));
+            return ResponseEntity.ok(createContentResponseUtil.withData(true, "Suggestions fetched", "suggestions", suggestions));
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error fetching suggestions: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while fetching suggestions"));
+        }
+    }
+
+
+    /**
+     * Public catalog listing with filters, sorting and keyset pagination. Facet counts come with the first page only.
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<Map<String,Object>> browseCoursePaths(@RequestParam(required = false) String level,
+                                                                @RequestParam(required = false) Double minRating,
+                                                                @RequestParam(required = false) List<String> tags,
+                                                                @RequestParam(defaultValue = "recent") String sort,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                @RequestParam(required = false) String cursor){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            CoursePathBrowseService.SortOrder sortOrder;
+            try {
+                sortOrder = CoursePathBrowseService.SortOrder.valueOf(sort.trim().toUpperCase());
+            } catch (IllegalArgumentException e){
+                return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Sort must be one of rating, recent or popular"));
+            }
+
+            CoursePathBrowseService.BrowsePage page = coursePathBrowseService.browse(level, minRating, tags, sortOrder, limit, cursor);
+            Map<String,Object> response = createContentResponseUtil.withData(true, "Course paths fetched",
+                    "coursePaths", createContentResponseUtil.createCoursePathBrowseList(page.coursePaths()),
+                    "nextCursor", page.nextCursor());
+            if(page.facets() != null){
+                response.put("facets", page.facets());
+            }
+            return ResponseEntity.ok(response);
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error browsing course paths: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while browsing course paths"));
+        }
+    }
+
+
     @PostMapping("/review")
     public ResponseEntity<Map<String,Object>> addReview(@RequestBody AddReviewRequest request){
         try {
@@ -234,6 +379,54 @@ public class CoursePathController {
         }
     }
 
+    @GetMapping("/{coursePathId}/reviews")
+    public ResponseEntity<Map<String,Object>> getReviews(@PathVariable String coursePathId,
+                                                         @RequestParam(defaultValue = "20") int limit,
+                                                         @RequestParam(required = false) String cursor){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            ReviewService.ReviewPage page = coursePathService.getReviews(coursePathId, limit, cursor);
+            return ResponseEntity.ok(createContentResponseUtil.withData(true, "Reviews fetched successfully",
+                    "reviews", createContentResponseUtil.createReviewList(page.reviews()), "nextCursor", page.nextCursor()));
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error fetching reviews: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while fetching reviews"));
+        }
+    }
+
+    @GetMapping("/{coursePathId}/detail")
+    public ResponseEntity<Map<String,Object>> getCoursePathDetail(@PathVariable String coursePathId){
+        try {
+            // Check user verification
+            ResponseEntity<Map<String, Object>> verificationResult = createContentResponseUtil.validateUserVerification();
+            if (verificationResult != null) {
+                return verificationResult;
+            }
+
+            if(coursePathId == null || coursePathId.isBlank()){
+                return ResponseEntity.badRequest().body(createContentResponseUtil.basic(false, "Course path ID is required"));
+            }
+
+            CoursePathService.CoursePathDetail detail = coursePathService.getCoursePathDetail(coursePathId);
+            return ResponseEntity.ok(createContentResponseUtil.withMultipleData(true, "Course path detail fetched successfully",
+                    "coursePath", detail.coursePath(), "topics", detail.topics(), "progress", detail.progress()));
+        } catch (org.springframework.web.server.ResponseStatusException e){
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(createContentResponseUtil.basic(false, e.getReason() == null ? "Request failed" : e.getReason()));
+        } catch (Exception e){
+            log.error("Error fetching course path detail: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(createContentResponseUtil.basic(false, "An error occurred while fetching course path detail"));
+        }
+    }
+
     @GetMapping("/{coursePathId}")
     public ResponseEntity<Map<String,Object>> getCoursePathById(@PathVariable String coursePathId){
         try {
@@ -0,0 +1,20 @@
+package com.example.skillmateai.content.dtos;
+
+import lombok.Data;
+
+/**
+ * Course path fields shown in listings, read with a projection instead of the whole document.
+ * topicCount is computed by the query with $size, so topic ids are never transferred.
+ */
+@Data
+public class CoursePathSummary {
+    private String id;
+    private String title;
+    private String description; // not loaded for search results
+    private int topicCount;
+    private long createdAt;
+    // Admin listing only
+    private String targetLevel;
+    private String createdBy;
+    private Double averageRating;
+}
@@ -6,4 +6,5 @@ import lombok.Data;
 public class GenerateCoursePathRequest {
     private String subject;
     private String difficulty; // beginner, intermediate, advanced
+    private boolean force; // generate even if an equivalent course path already exists
 }
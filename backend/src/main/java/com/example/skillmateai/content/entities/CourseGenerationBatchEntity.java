@@ -0,0 +1,39 @@
+package com.example.skillmateai.content.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Document(collection = "content_generationBatch")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseGenerationBatchEntity {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED   // every item reached REUSED, COMPLETED or FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String requestedBy; // id of the admin who submitted the batch
+
+    @Indexed
+    private Status status;
+
+    @Builder.Default
+    private List<GenerationBatchItem> items = new ArrayList<>();
+    private long createdAt;
+    private long updatedAt;
+    private Long completedAt;
+}
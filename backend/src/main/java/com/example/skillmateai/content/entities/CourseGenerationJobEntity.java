@@ -0,0 +1,48 @@
+package com.example.skillmateai.content.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "content_generationJob")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseGenerationJobEntity {
+
+    public enum Status {
+        QUEUED,     // accepted by the backend, not yet handed to the analyzer
+        SUBMITTED,  // analyzer accepted the request and is generating
+        COMPLETED,  // the analyzer's course path document was found
+        FAILED
+    }
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+    private String userEmail;
+    private String userClass; // scheduling class of the requester ("user" or "admin")
+    private String subject;
+    private String difficulty;
+
+    @Indexed
+    private String coalesceKey; // normalized subject and difficulty shared by identical requests
+    @Indexed
+    private String leaderJobId; // set on jobs that wait for another user's identical job instead of calling the analyzer
+
+    @Indexed
+    private Status status;
+    private String analyzerRequestId; // requestId returned by the analyzer's 202 response
+    private String coursePathId; // set once the generated course path is detected
+    private String message;
+    private long createdAt;
+    private long updatedAt;
+    private Long completedAt;
+}
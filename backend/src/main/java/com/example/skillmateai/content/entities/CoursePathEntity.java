@@ -5,11 +5,21 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
 @Document(collection = "content_coursePath")
+// Browse sorts, each ending in createdAt and _id so keyset pagination can seek past equal values. Ids are a mix
+// of analyzer strings and older ObjectIds, which $lt does not compare, so _id only splits equal creation times.
+@CompoundIndex(name = "browse_level_rating", def = "{'targetLevel': 1, 'averageRating': -1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "browse_level_recent", def = "{'targetLevel': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "browse_level_popular", def = "{'targetLevel': 1, 'enrollmentCount': -1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "browse_rating", def = "{'averageRating': -1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "browse_recent", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "browse_popular", def = "{'enrollmentCount': -1, 'createdAt': -1, '_id': -1}")
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,11 +31,19 @@ public class CoursePathEntity {
 
     private String creatorId;
     private String title;
+    private String subject; // subject the course was generated for; missing on courses created before it was stored
+    @Indexed
+    private String generationRequestId; // analyzer request that generated the course, if any
     private String description;
     private String targetLevel;// e.g. Beginner, Intermediate, Advanced
+    @Indexed
     private long createdAt;
     private String createdBy;
     private List<String> topics; // references to topic IDs
-    private List<ReviewEntity> reviews; // Course ratings and reviews
-    private Double averageRating; // Calculated average rating
+    private long reviewCount; // Reviews live in content_review; both counters are maintained with $inc by ReviewService
+    private long ratingSum;
+    private Double averageRating; // ratingSum / reviewCount, kept stored for browse sorting and filters
+    private long enrollmentCount; // Maintained with $inc by ProgressService
+    @Indexed
+    private List<String> tags; // Lowercased tags of the course's topics, set by CoursePathBrowseService for browse filters
 }
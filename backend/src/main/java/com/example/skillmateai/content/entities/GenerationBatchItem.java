@@ -0,0 +1,30 @@
+package com.example.skillmateai.content.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationBatchItem {
+
+    public enum Status {
+        PENDING,    // waiting for free analyzer capacity
+        REUSED,     // an equivalent course path already existed, nothing was generated
+        QUEUED,
+        SUBMITTED,
+        COMPLETED,
+        FAILED
+    }
+
+    private String subject;
+    private String difficulty;
+    private Status status;
+    private String jobId; // generation job created for the item, if any
+    private String coursePathId;
+    private String message;
+    private long updatedAt;
+}
@@ -4,13 +4,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
 
+@Document(collection = "content_review")
+// One review per user and course path; the second index serves the newest-first review pages
+@CompoundIndex(name = "review_reviewer", def = "{'coursePathId': 1, 'reviewerId': 1}", unique = true)
+@CompoundIndex(name = "review_recent", def = "{'coursePathId': 1, 'reviewDate': -1, '_id': -1}")
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class ReviewEntity {
-    
+
+    @Id
+    private String id;
+
+    private String coursePathId;
     private String reviewerId; // User ID who gave the review
     private String reviewerName; // User name for display
     private Integer rating; // 1-5 stars
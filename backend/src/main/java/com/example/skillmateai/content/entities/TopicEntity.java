@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -25,4 +26,8 @@ public class TopicEntity {
     private List<String> prerequisites; // could be list of topic IDs
     private Integer estimatedTimeMin;
     private List<String> tags;
+
+    @Indexed
+    private String generationRequestId; // analyzer request that produced the topic, set while it is being generated
+    private Integer position; // order of the topic within its generation request
 }
@@ -0,0 +1,19 @@
+package com.example.skillmateai.content.events;
+
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a generation job is created or changes status.
+ */
+@Getter
+public class CourseGenerationJobUpdatedEvent extends ApplicationEvent {
+
+    private final CourseGenerationJobEntity job;
+
+    public CourseGenerationJobUpdatedEvent(Object source, CourseGenerationJobEntity job) {
+        super(source);
+        this.job = job;
+    }
+}
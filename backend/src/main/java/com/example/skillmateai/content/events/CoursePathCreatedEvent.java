@@ -0,0 +1,20 @@
+package com.example.skillmateai.content.events;
+
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once for every course path document that appears in content_coursePath,
+ * whether the analyzer or the backend wrote it.
+ */
+@Getter
+public class CoursePathCreatedEvent extends ApplicationEvent {
+
+    private final CoursePathEntity coursePath;
+
+    public CoursePathCreatedEvent(Object source, CoursePathEntity coursePath) {
+        super(source);
+        this.coursePath = coursePath;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.skillmateai.content.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a course path document has been removed from content_coursePath,
+ * so in-memory indexes and caches can drop it.
+ */
+@Getter
+public class CoursePathDeletedEvent extends ApplicationEvent {
+
+    private final String coursePathId;
+
+    public CoursePathDeletedEvent(Object source, String coursePathId) {
+        super(source);
+        this.coursePathId = coursePathId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.skillmateai.content.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a course path's enrollment count changed, carrying the count as stored.
+ */
+@Getter
+public class CoursePathEnrollmentChangedEvent extends ApplicationEvent {
+
+    private final String coursePathId;
+    private final long enrollmentCount;
+
+    public CoursePathEnrollmentChangedEvent(Object source, String coursePathId, long enrollmentCount) {
+        super(source);
+        this.coursePathId = coursePathId;
+        this.enrollmentCount = enrollmentCount;
+    }
+}
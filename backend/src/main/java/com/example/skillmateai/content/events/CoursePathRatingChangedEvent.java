@@ -0,0 +1,20 @@
+package com.example.skillmateai.content.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a course path's average rating changed, carrying the rating as stored (null without reviews).
+ */
+@Getter
+public class CoursePathRatingChangedEvent extends ApplicationEvent {
+
+    private final String coursePathId;
+    private final Double averageRating;
+
+    public CoursePathRatingChangedEvent(Object source, String coursePathId, Double averageRating) {
+        super(source);
+        this.coursePathId = coursePathId;
+        this.averageRating = averageRating;
+    }
+}
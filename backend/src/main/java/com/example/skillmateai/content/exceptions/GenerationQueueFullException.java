@@ -0,0 +1,28 @@
+package com.example.skillmateai.content.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when a user already has as many generation jobs waiting as their class allows.
+ * Carries a Retry-After hint.
+ */
+@Getter
+public class GenerationQueueFullException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public GenerationQueueFullException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.skillmateai.content.repositories;
+
+import com.example.skillmateai.content.entities.CourseGenerationBatchEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface CourseGenerationBatchRepository extends MongoRepository<CourseGenerationBatchEntity, String> {
+
+    List<CourseGenerationBatchEntity> findByStatusOrderByCreatedAtAsc(CourseGenerationBatchEntity.Status status);
+    List<CourseGenerationBatchEntity> findTop20ByOrderByCreatedAtDesc();
+}
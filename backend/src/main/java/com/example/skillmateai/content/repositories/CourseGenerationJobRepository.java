@@ -0,0 +1,19 @@
+package com.example.skillmateai.content.repositories;
+
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseGenerationJobRepository extends MongoRepository<CourseGenerationJobEntity, String> {
+
+    List<CourseGenerationJobEntity> findByStatusIn(Collection<CourseGenerationJobEntity.Status> statuses);
+    List<CourseGenerationJobEntity> findByUserIdAndStatusInOrderByCreatedAtAsc(String userId, Collection<CourseGenerationJobEntity.Status> statuses);
+    List<CourseGenerationJobEntity> findByStatusInAndUpdatedAtLessThan(Collection<CourseGenerationJobEntity.Status> statuses, long updatedAt);
+    List<CourseGenerationJobEntity> findByLeaderJobIdAndStatusIn(String leaderJobId, Collection<CourseGenerationJobEntity.Status> statuses);
+    List<CourseGenerationJobEntity> findByLeaderJobIdIsNullAndStatusIn(Collection<CourseGenerationJobEntity.Status> statuses);
+    Optional<CourseGenerationJobEntity> findFirstByAnalyzerRequestId(String analyzerRequestId);
+    Optional<CourseGenerationJobEntity> findFirstByUserIdAndCoalesceKeyAndStatusIn(String userId, String coalesceKey, Collection<CourseGenerationJobEntity.Status> statuses);
+}
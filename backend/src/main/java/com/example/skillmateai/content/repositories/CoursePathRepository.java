@@ -6,15 +6,24 @@ import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
-public interface CoursePathRepository extends MongoRepository<CoursePathEntity, String> {
+public interface CoursePathRepository extends MongoRepository<CoursePathEntity, String>, CoursePathRepositoryCustom {
     
-    List<CoursePathEntity> findByTargetLevel(String targetLevel);
     List<CoursePathEntity> findByCreatedBy(String createdBy);
     List<CoursePathEntity> findByCreatorId(String creatorId);
     List<CoursePathEntity> findByTitleContainingIgnoreCase(String title);
     List<CoursePathEntity> findByTopicsContaining(String topicId);
+    List<CoursePathEntity> findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(long createdAt);
     
-    // Fuzzy search methods for similar titles
-    @Query("{'title': {$regex: ?0, $options: 'i'}}")
-    List<CoursePathEntity> findByTitleRegex(String titlePattern);
+    // Projections used to build the in-memory indexes
+    @Query(value = "{}", fields = "{'title': 1, 'subject': 1, 'targetLevel': 1, 'createdAt': 1}")
+    List<CoursePathEntity> findAllReuseKeys();
+
+    @Query(value = "{}", fields = "{'title': 1, 'description': 1}")
+    List<CoursePathEntity> findAllSearchKeys();
+
+    @Query(value = "{}", fields = "{'title': 1, 'topics': 1}")
+    List<CoursePathEntity> findAllFuzzyKeys();
+
+    @Query(value = "{}", fields = "{'title': 1, 'topics': 1, 'enrollmentCount': 1, 'averageRating': 1}")
+    List<CoursePathEntity> findAllSuggestKeys();
 }
@@ -0,0 +1,22 @@
+package com.example.skillmateai.content.repositories;
+
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CoursePathRepositoryCustom {
+
+    // Id, title, description and topic count for the /mine listing
+    List<CoursePathSummary> findSummariesByIdIn(Collection<String> ids);
+
+    // Id, title, topic count and creation time for search results
+    List<CoursePathSummary> findSearchResultsByIdIn(Collection<String> ids);
+
+    // Admin listing fields in (createdAt, _id) order, starting after the given position (nulls for the first page)
+    List<CoursePathSummary> findAdminSummaries(Long afterCreatedAt, String afterId, int limit);
+
+    // The same fields for every course path, read through a cursor; the caller must close the stream
+    Stream<CoursePathSummary> streamAdminSummaries();
+}
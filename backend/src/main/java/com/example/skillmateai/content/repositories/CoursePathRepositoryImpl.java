@@ -0,0 +1,77 @@
+package com.example.skillmateai.content.repositories;
+
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class CoursePathRepositoryImpl implements CoursePathRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<CoursePathSummary> findSummariesByIdIn(Collection<String> ids) {
+        return findSummaries(ids, Aggregation.project("title", "description"));
+    }
+
+    @Override
+    public List<CoursePathSummary> findSearchResultsByIdIn(Collection<String> ids) {
+        return findSummaries(ids, Aggregation.project("title", "createdAt"));
+    }
+
+    @Override
+    public List<CoursePathSummary> findAdminSummaries(Long afterCreatedAt, String afterId, int limit) {
+        // Analyzer-written ids are strings and older ones ObjectIds; $gt only compares ids of the same BSON type,
+        // so the creation time leads the order and _id only breaks ties
+        Criteria criteria = afterCreatedAt == null ? new Criteria() : new Criteria().orOperator(
+                Criteria.where("createdAt").gt(afterCreatedAt),
+                new Criteria().andOperator(Criteria.where("createdAt").is(afterCreatedAt), Criteria.where("_id").gt(afterId)));
+        TypedAggregation<CoursePathEntity> aggregation = Aggregation.newAggregation(CoursePathEntity.class,
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id"))),
+                Aggregation.limit(limit),
+                adminFields());
+        return mongoTemplate.aggregate(aggregation, CoursePathSummary.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<CoursePathSummary> streamAdminSummaries() {
+        TypedAggregation<CoursePathEntity> aggregation = Aggregation.newAggregation(CoursePathEntity.class,
+                Aggregation.sort(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id"))),
+                adminFields());
+        return mongoTemplate.aggregateStream(aggregation, CoursePathSummary.class);
+    }
+
+    private ProjectionOperation adminFields() {
+        return withTopicCount(Aggregation.project("title", "description", "targetLevel", "createdAt", "createdBy", "averageRating"));
+    }
+
+    private ProjectionOperation withTopicCount(ProjectionOperation fields) {
+        return fields.and(ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull("topics").then(List.of()))).as("topicCount");
+    }
+
+    private List<CoursePathSummary> findSummaries(Collection<String> ids, ProjectionOperation fields) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // A find projection cannot count the topics, the $project stage does it on the server.
+        // The typed aggregation maps the string ids to ObjectIds like the derived queries do.
+        TypedAggregation<CoursePathEntity> aggregation = Aggregation.newAggregation(CoursePathEntity.class,
+                Aggregation.match(Criteria.where("_id").in(ids)),
+                withTopicCount(fields));
+        return mongoTemplate.aggregate(aggregation, CoursePathSummary.class).getMappedResults();
+    }
+}
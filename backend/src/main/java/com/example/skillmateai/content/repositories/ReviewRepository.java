@@ -0,0 +1,21 @@
+package com.example.skillmateai.content.repositories;
+
+import com.example.skillmateai.content.entities.ReviewEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+public interface ReviewRepository extends MongoRepository<ReviewEntity, String> {
+
+    void deleteByCoursePathId(String coursePathId);
+
+    // Newest first, with _id breaking ties so pages can seek past equal review dates
+    @Query(value = "{'coursePathId': ?0}", sort = "{'reviewDate': -1, '_id': -1}")
+    List<ReviewEntity> findPageByCoursePathId(String coursePathId, Limit limit);
+
+    @Query(value = "{'coursePathId': ?0, $or: [{'reviewDate': {$lt: ?1}}, {'reviewDate': ?1, '_id': {$lt: ?2}}]}",
+            sort = "{'reviewDate': -1, '_id': -1}")
+    List<ReviewEntity> findPageByCoursePathIdAfter(String coursePathId, long reviewDate, String id, Limit limit);
+}
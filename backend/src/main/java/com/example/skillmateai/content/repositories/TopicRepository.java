@@ -2,7 +2,9 @@ package com.example.skillmateai.content.repositories;
 
 import com.example.skillmateai.content.entities.TopicEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TopicRepository extends MongoRepository<TopicEntity, String> {
@@ -10,4 +12,19 @@ public interface TopicRepository extends MongoRepository<TopicEntity, String> {
     List<TopicEntity> findByTagsContaining(String tag);
     List<TopicEntity> findByPrerequisitesContaining(String prerequisiteId);
     List<TopicEntity> findByNameContainingIgnoreCase(String name);
+    List<TopicEntity> findByGenerationRequestIdIn(Collection<String> generationRequestIds);
+
+    // Name-only projections for the fuzzy search index
+    @Query(value = "{}", fields = "{'name': 1}")
+    List<TopicEntity> findAllNames();
+
+    @Query(value = "{'_id': {$in: ?0}}", fields = "{'name': 1}")
+    List<TopicEntity> findNamesByIdIn(Collection<String> ids);
+
+    // Tag-only projections for the suggestion index
+    @Query(value = "{'tags.0': {$exists: true}}", fields = "{'tags': 1}")
+    List<TopicEntity> findAllTags();
+
+    @Query(value = "{'_id': {$in: ?0}}", fields = "{'tags': 1}")
+    List<TopicEntity> findTagsByIdIn(Collection<String> ids);
 }
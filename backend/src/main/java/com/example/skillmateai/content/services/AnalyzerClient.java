@@ -0,0 +1,285 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.common.resilience.CircuitBreaker;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client for the AI analyzer. Connections are pooled and kept alive between calls, every call is
+ * bounded by a connect timeout, a pool-wait timeout, a read timeout and an overall deadline, so a slow
+ * analyzer can only ever hold a bounded number of threads for a bounded time. Concurrency is capped by the
+ * course generation dispatch executor, the only caller, and a circuit breaker fails fast while the analyzer
+ * keeps failing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyzerClient implements MetricsReporter {
+
+    private static final String GENERATE_COURSE_PATH = "/api/v1/generate-course-path";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${aiAnalyzer.baseUrl}")
+    private String aiAnalyzerBaseUrl;
+
+    @Value("${aiAnalyzer.maxConnections:20}")
+    private int maxConnections;
+
+    @Value("${aiAnalyzer.maxConnectionsPerRoute:10}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${aiAnalyzer.connectTimeoutMillis:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${aiAnalyzer.poolWaitTimeoutMillis:1000}")
+    private long poolWaitTimeoutMillis;
+
+    @Value("${aiAnalyzer.readTimeoutMillis:10000}")
+    private long readTimeoutMillis;
+
+    @Value("${aiAnalyzer.callDeadlineMillis:15000}")
+    private long callDeadlineMillis;
+
+    @Value("${aiAnalyzer.keepAliveSeconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${aiAnalyzer.breakerFailureThreshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${aiAnalyzer.breakerOpenMillis:30000}")
+    private long breakerOpenMillis;
+
+    @Value("${aiAnalyzer.breakerHalfOpenProbes:1}")
+    private int breakerHalfOpenProbes;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private ScheduledExecutorService deadlineScheduler;
+    private CircuitBreaker circuitBreaker;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong poolTimeouts = new AtomicLong();
+    private final AtomicLong connectTimeouts = new AtomicLong();
+    private final AtomicLong readTimeouts = new AtomicLong();
+    private final AtomicLong deadlineExceeded = new AtomicLong();
+    private final AtomicInteger inFlightCalls = new AtomicInteger();
+
+    @PostConstruct
+    void initClient() {
+        circuitBreaker = new CircuitBreaker("aiAnalyzer", breakerFailureThreshold, breakerOpenMillis, breakerHalfOpenProbes);
+
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                // The analyzer does not send Keep-Alive hints, so idle connections are kept for a fixed time
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .disableAutomaticRetries()
+                .build();
+
+        deadlineScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analyzer-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void closeClient() throws IOException {
+        deadlineScheduler.shutdownNow();
+        httpClient.close();
+    }
+
+    /**
+     * False while the circuit breaker is open, so callers can refuse work before queueing it.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    public Map<String, Object> getHealth() {
+        Map<String, Object> health = circuitBreaker.snapshot();
+        health.put("inFlightCalls", inFlightCalls.get());
+        return health;
+    }
+
+    /**
+     * Asks the analyzer to generate a course path and returns its (202 ACCEPTED) response body.
+     */
+    public Map<String, Object> requestCoursePath(String subject, String difficulty, String email) {
+        Map<String, Object> requestBody = Map.of(
+                "subject", subject,
+                "difficulty", difficulty.toLowerCase(),
+                "email", email
+        );
+
+        Map<String, Object> aiResponse = post(GENERATE_COURSE_PATH, requestBody);
+        if(!(Boolean.TRUE.equals(aiResponse.get("success")))){
+            log.error("AI analyzer returned unsuccessful response: {}", aiResponse);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to generate course path");
+        }
+        return aiResponse;
+    }
+
+    /**
+     * Runs the call inside the circuit breaker, which rejects with 503 without touching the network. Every
+     * outcome of an admitted call is reported back so a half-open probe permit is never left taken.
+     */
+    private Map<String, Object> post(String path, Map<String, Object> requestBody) {
+        if(!circuitBreaker.tryAcquirePermission()){
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI Analyzer is temporarily unavailable, please try again later");
+        }
+
+        inFlightCalls.incrementAndGet();
+        try {
+            Map<String, Object> response = execute(path, requestBody);
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (ResponseStatusException e){
+            if(e.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE){
+                // Only raised for a local pool timeout, which says nothing about the analyzer itself
+                circuitBreaker.onIgnored();
+            } else {
+                circuitBreaker.onFailure();
+            }
+            throw e;
+        } catch (RuntimeException e){
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            inFlightCalls.decrementAndGet();
+        }
+    }
+
+    private Map<String, Object> execute(String path, Map<String, Object> requestBody) {
+        long startedAt = System.nanoTime();
+        HttpPost request = new HttpPost(aiAnalyzerBaseUrl + path);
+        AtomicBoolean cancelledByDeadline = new AtomicBoolean();
+        ScheduledFuture<?> deadline = deadlineScheduler.schedule(() -> {
+            cancelledByDeadline.set(true);
+            request.cancel();
+        }, callDeadlineMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            request.setEntity(new StringEntity(objectMapper.writeValueAsString(requestBody), ContentType.APPLICATION_JSON));
+            return httpClient.execute(request, response -> {
+                String body = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : null;
+                if(response.getCode() < 200 || response.getCode() >= 300 || body == null || body.isBlank()){
+                    log.error("AI analyzer returned status {} with body: {}", response.getCode(), body);
+                    throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI Analyzer unreachable");
+                }
+                return objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+            });
+        } catch (ResponseStatusException e){
+            failures.incrementAndGet();
+            throw e;
+        } catch (ConnectionRequestTimeoutException e){
+            failures.incrementAndGet();
+            poolTimeouts.incrementAndGet();
+            log.error("No analyzer connection available within {} ms", poolWaitTimeoutMillis);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI Analyzer is busy, please try again later");
+        } catch (ConnectTimeoutException e){
+            failures.incrementAndGet();
+            connectTimeouts.incrementAndGet();
+            log.error("AI analyzer connect timed out: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI Analyzer unreachable");
+        } catch (SocketTimeoutException e){
+            failures.incrementAndGet();
+            readTimeouts.incrementAndGet();
+            log.error("AI analyzer did not answer within {} ms", readTimeoutMillis);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI Analyzer timed out");
+        } catch (IOException e){
+            failures.incrementAndGet();
+            if(cancelledByDeadline.get()){
+                deadlineExceeded.incrementAndGet();
+                log.error("AI analyzer call exceeded its {} ms deadline", callDeadlineMillis);
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "AI Analyzer timed out");
+            }
+            log.error("AI analyzer call failed: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI Analyzer unreachable");
+        } finally {
+            deadline.cancel(false);
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "analyzerClient";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        PoolStats pool = connectionManager.getTotalStats();
+        Map<String, Object> poolMetrics = new HashMap<>();
+        poolMetrics.put("leased", pool.getLeased());
+        poolMetrics.put("pending", pool.getPending());
+        poolMetrics.put("available", pool.getAvailable());
+        poolMetrics.put("max", pool.getMax());
+        poolMetrics.put("saturation", pool.getMax() == 0 ? 0.0 : (double) pool.getLeased() / pool.getMax());
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("pool", poolMetrics);
+        metrics.put("latency", latency.snapshot());
+        metrics.put("failures", failures.get());
+        metrics.put("poolTimeouts", poolTimeouts.get());
+        metrics.put("connectTimeouts", connectTimeouts.get());
+        metrics.put("readTimeouts", readTimeouts.get());
+        metrics.put("deadlineExceeded", deadlineExceeded.get());
+        metrics.put("circuitBreaker", getHealth());
+        return metrics;
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.entities.CourseGenerationBatchEntity;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.entities.GenerationBatchItem;
+import com.example.skillmateai.content.exceptions.GenerationQueueFullException;
+import com.example.skillmateai.content.repositories.CourseGenerationBatchRepository;
+import com.example.skillmateai.content.repositories.CourseGenerationJobRepository;
+import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.user.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Warms the course catalog ahead of demand. Admins submit batches of (subject, difficulty) pairs; every item is
+ * either matched to an equivalent existing course path or generated under a service account, so later user
+ * requests are served by the reuse path instead of the analyzer.
+ * <p>
+ * Items are fed to {@link CourseGenerationJobService} only while it has idle analyzer slots, and at most
+ * {@code aiAnalyzer.pregenerateMaxInFlight} of them are generating at once, so user requests always go first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogPregenerationService implements MetricsReporter {
+
+    public static final Set<String> DIFFICULTIES = Set.of("beginner", "intermediate", "advanced");
+
+    private static final Set<GenerationBatchItem.Status> ACTIVE_ITEM_STATUSES =
+            EnumSet.of(GenerationBatchItem.Status.QUEUED, GenerationBatchItem.Status.SUBMITTED);
+    private static final Set<GenerationBatchItem.Status> TERMINAL_ITEM_STATUSES =
+            EnumSet.of(GenerationBatchItem.Status.REUSED, GenerationBatchItem.Status.COMPLETED, GenerationBatchItem.Status.FAILED);
+
+    private final CourseGenerationBatchRepository courseGenerationBatchRepository;
+    private final CourseGenerationJobRepository courseGenerationJobRepository;
+    private final CourseGenerationJobService courseGenerationJobService;
+    private final CoursePathReuseIndex coursePathReuseIndex;
+    private final AnalyzerClient analyzerClient;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${aiAnalyzer.pregenerateAccountEmail:catalog@skillmate.ai}")
+    private String serviceAccountEmail;
+
+    @Value("${aiAnalyzer.pregenerateMaxInFlight:2}")
+    private int maxInFlight;
+
+    @Value("${aiAnalyzer.pregenerateMaxBatchSize:500}")
+    private int maxBatchSize;
+
+    private final AtomicLong batchesCreated = new AtomicLong();
+    private final AtomicLong itemsReused = new AtomicLong();
+    private final AtomicLong itemsSubmitted = new AtomicLong();
+    private final AtomicLong throttledRounds = new AtomicLong();
+
+    public synchronized CourseGenerationBatchEntity createBatch(String requestedBy, List<GenerationBatchItem> requestedItems){
+        if(requestedItems == null || requestedItems.isEmpty()){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one item is required");
+        }
+        if(requestedItems.size() > maxBatchSize){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch can contain at most " + maxBatchSize + " items");
+        }
+
+        long now = System.currentTimeMillis();
+        List<GenerationBatchItem> items = new ArrayList<>();
+        for(GenerationBatchItem requested : requestedItems){
+            if(requested.getSubject() == null || requested.getSubject().isBlank()
+                    || requested.getDifficulty() == null || requested.getDifficulty().isBlank()){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every item needs a subject and a difficulty");
+            }
+            String difficulty = requested.getDifficulty().trim().toLowerCase();
+            if(!DIFFICULTIES.contains(difficulty)){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Difficulty must be one of beginner, intermediate or advanced");
+            }
+            items.add(GenerationBatchItem.builder()
+                    .subject(requested.getSubject().trim())
+                    .difficulty(difficulty)
+                    .status(GenerationBatchItem.Status.PENDING)
+                    .message("Waiting for free analyzer capacity")
+                    .updatedAt(now)
+                    .build());
+        }
+
+        CourseGenerationBatchEntity batch = CourseGenerationBatchEntity.builder()
+                .requestedBy(requestedBy)
+                .status(CourseGenerationBatchEntity.Status.RUNNING)
+                .items(items)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        // Resolve reusable items right away so the response already reflects them
+        resolveReusableItems(batch);
+        finishIfDone(batch);
+        batch = courseGenerationBatchRepository.save(batch);
+        batchesCreated.incrementAndGet();
+        log.info("Created pre-generation batch {} with {} items", batch.getId(), items.size());
+        return batch;
+    }
+
+    public CourseGenerationBatchEntity getBatch(String batchId){
+        return courseGenerationBatchRepository.findById(batchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Generation batch not found"));
+    }
+
+    public List<CourseGenerationBatchEntity> getRecentBatches(){
+        return courseGenerationBatchRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    /**
+     * Refreshes item statuses from their jobs and submits pending items while the analyzer has idle capacity.
+     */
+    @Scheduled(fixedDelayString = "${aiAnalyzer.pregenerateFeedMillis:5000}")
+    public synchronized void feedBatches(){
+        try {
+            List<CourseGenerationBatchEntity> batches = courseGenerationBatchRepository
+                    .findByStatusOrderByCreatedAtAsc(CourseGenerationBatchEntity.Status.RUNNING);
+            if(batches.isEmpty()){
+                return;
+            }
+
+            Set<String> changed = new HashSet<>();
+            int inFlight = 0;
+            for(CourseGenerationBatchEntity batch : batches){
+                if(refreshItems(batch)){
+                    changed.add(batch.getId());
+                }
+                inFlight += (int) batch.getItems().stream().filter(item -> ACTIVE_ITEM_STATUSES.contains(item.getStatus())).count();
+            }
+
+            UserEntity serviceAccount = null;
+            boolean throttled = false;
+            for(CourseGenerationBatchEntity batch : batches){
+                if(resolveReusableItems(batch)){
+                    changed.add(batch.getId());
+                }
+                for(GenerationBatchItem item : batch.getItems()){
+                    if(throttled || item.getStatus() != GenerationBatchItem.Status.PENDING){
+                        continue;
+                    }
+                    if(inFlight >= maxInFlight || courseGenerationJobService.availableSlots() <= 0 || !analyzerClient.isAvailable()){
+                        throttled = true;
+                        continue;
+                    }
+                    if(serviceAccount == null){
+                        serviceAccount = resolveServiceAccount();
+                    }
+                    if(submitItem(serviceAccount, item)){
+                        inFlight++;
+                    } else if(item.getStatus() == GenerationBatchItem.Status.PENDING){
+                        throttled = true;
+                    }
+                    changed.add(batch.getId());
+                }
+                if(finishIfDone(batch)){
+                    changed.add(batch.getId());
+                }
+            }
+            if(throttled){
+                throttledRounds.incrementAndGet();
+            }
+
+            for(CourseGenerationBatchEntity batch : batches){
+                if(changed.contains(batch.getId())){
+                    batch.setUpdatedAt(System.currentTimeMillis());
+                    courseGenerationBatchRepository.save(batch);
+                }
+            }
+        } catch (Exception e){
+            log.error("Unexpected error feeding pre-generation batches: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "catalogPregeneration";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("batchesCreated", batchesCreated.get());
+        metrics.put("itemsReused", itemsReused.get());
+        metrics.put("itemsSubmitted", itemsSubmitted.get());
+        metrics.put("throttledRounds", throttledRounds.get());
+        metrics.put("maxInFlight", maxInFlight);
+        return metrics;
+    }
+
+    private boolean submitItem(UserEntity serviceAccount, GenerationBatchItem item){
+        try {
+            CourseGenerationJobEntity job = courseGenerationJobService.submit(serviceAccount, item.getSubject(), item.getDifficulty());
+            item.setJobId(job.getId());
+            applyJobStatus(item, job);
+            itemsSubmitted.incrementAndGet();
+            return true;
+        } catch (GenerationQueueFullException e){
+            // The service account's own queue is full, try again on the next round
+            return false;
+        } catch (ResponseStatusException e){
+            if(e.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE){
+                return false;
+            }
+            setItemStatus(item, GenerationBatchItem.Status.FAILED, e.getReason() == null ? "Generation request failed" : e.getReason());
+            return false;
+        }
+    }
+
+    private boolean resolveReusableItems(CourseGenerationBatchEntity batch){
+        boolean changed = false;
+        for(GenerationBatchItem item : batch.getItems()){
+            if(item.getStatus() != GenerationBatchItem.Status.PENDING){
+                continue;
+            }
+            Optional<String> existing = coursePathReuseIndex.findEquivalent(item.getSubject(), item.getDifficulty());
+            if(existing.isPresent()){
+                item.setCoursePathId(existing.get());
+                setItemStatus(item, GenerationBatchItem.Status.REUSED, "An equivalent course path already exists");
+                itemsReused.incrementAndGet();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean refreshItems(CourseGenerationBatchEntity batch){
+        List<String> jobIds = batch.getItems().stream()
+                .filter(item -> ACTIVE_ITEM_STATUSES.contains(item.getStatus()) && item.getJobId() != null)
+                .map(GenerationBatchItem::getJobId)
+                .toList();
+        if(jobIds.isEmpty()){
+            return false;
+        }
+        Map<String, CourseGenerationJobEntity> jobs = courseGenerationJobRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(CourseGenerationJobEntity::getId, Function.identity()));
+
+        boolean changed = false;
+        for(GenerationBatchItem item : batch.getItems()){
+            if(!ACTIVE_ITEM_STATUSES.contains(item.getStatus()) || item.getJobId() == null){
+                continue;
+            }
+            CourseGenerationJobEntity job = jobs.get(item.getJobId());
+            GenerationBatchItem.Status before = item.getStatus();
+            if(job == null){
+                setItemStatus(item, GenerationBatchItem.Status.FAILED, "Generation job no longer exists");
+            } else {
+                applyJobStatus(item, job);
+            }
+            changed |= item.getStatus() != before;
+        }
+        return changed;
+    }
+
+    private void applyJobStatus(GenerationBatchItem item, CourseGenerationJobEntity job){
+        GenerationBatchItem.Status status = switch(job.getStatus()){
+            case QUEUED -> GenerationBatchItem.Status.QUEUED;
+            case SUBMITTED -> GenerationBatchItem.Status.SUBMITTED;
+            case COMPLETED -> GenerationBatchItem.Status.COMPLETED;
+            case FAILED -> GenerationBatchItem.Status.FAILED;
+        };
+        item.setCoursePathId(job.getCoursePathId());
+        setItemStatus(item, status, job.getMessage());
+    }
+
+    private boolean finishIfDone(CourseGenerationBatchEntity batch){
+        boolean done = batch.getItems().stream().allMatch(item -> TERMINAL_ITEM_STATUSES.contains(item.getStatus()));
+        if(!done || batch.getStatus() == CourseGenerationBatchEntity.Status.COMPLETED){
+            return false;
+        }
+        batch.setStatus(CourseGenerationBatchEntity.Status.COMPLETED);
+        batch.setCompletedAt(System.currentTimeMillis());
+        log.info("Pre-generation batch {} completed", batch.getId());
+        return true;
+    }
+
+    private void setItemStatus(GenerationBatchItem item, GenerationBatchItem.Status status, String message){
+        item.setStatus(status);
+        item.setMessage(message);
+        item.setUpdatedAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Account that owns pre-generated course paths. It cannot sign in: the password is random and never stored
+     * anywhere else, and the account is disabled.
+     */
+    private UserEntity resolveServiceAccount(){
+        return userRepository.findByEmail(serviceAccountEmail).orElseGet(() -> {
+            long now = System.currentTimeMillis();
+            UserEntity account = new UserEntity();
+            account.setEmail(serviceAccountEmail);
+            account.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
+            account.setFirstName("SkillMate");
+            account.setLastName("Catalog");
+            account.setVerified(true);
+            account.setAccountEnabled(false);
+            account.setIsBlocked(false);
+            account.setRoles(new ArrayList<>(List.of("SERVICE")));
+            account.setCreatedAt(now);
+            account.setUpdatedAt(now);
+            log.info("Creating pre-generation service account {}", serviceAccountEmail);
+            return userRepository.save(account);
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.cache.BoundedLruCache;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.TopicEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathEnrollmentChangedEvent;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@code findById} for course paths and topics. Both caches are bounded by
+ * entry count and by an estimate of the documents' size in memory.
+ * <p>
+ * The documents are written once by the analyzer and afterwards only changed by reviews, enrollment
+ * counts, browse tags and admin deletes; those paths invalidate the affected ids. Every invalidation bumps
+ * a generation so a load that raced with a write does not cache the document it read before the write.
+ * Cached entities are shared between requests and must not be modified by callers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentDocumentCache implements MetricsReporter {
+
+    private final CoursePathRepository coursePathRepository;
+    private final TopicRepository topicRepository;
+
+    @Value("${app.cache.coursePathEntries:2000}")
+    private int coursePathEntries;
+
+    @Value("${app.cache.coursePathMaxBytes:33554432}")
+    private long coursePathMaxBytes;
+
+    @Value("${app.cache.topicEntries:20000}")
+    private int topicEntries;
+
+    @Value("${app.cache.topicMaxBytes:33554432}")
+    private long topicMaxBytes;
+
+    private BoundedLruCache<String, CoursePathEntity> coursePaths;
+    private BoundedLruCache<String, TopicEntity> topics;
+    private long generation; // guarded by this
+
+    @PostConstruct
+    void initCaches() {
+        coursePaths = new BoundedLruCache<>(coursePathEntries, coursePathMaxBytes, ContentDocumentCache::estimateBytes);
+        topics = new BoundedLruCache<>(topicEntries, topicMaxBytes, ContentDocumentCache::estimateBytes);
+    }
+
+    public Optional<CoursePathEntity> findCoursePath(String coursePathId) {
+        CoursePathEntity coursePath = coursePaths.get(coursePathId);
+        if (coursePath != null) {
+            return Optional.of(coursePath);
+        }
+        long readGeneration = generation();
+        coursePath = coursePathRepository.findById(coursePathId).orElse(null);
+        if (coursePath != null) {
+            putIfCurrent(coursePaths, coursePathId, coursePath, readGeneration);
+        }
+        return Optional.ofNullable(coursePath);
+    }
+
+    public Optional<TopicEntity> findTopic(String topicId) {
+        TopicEntity topic = topics.get(topicId);
+        if (topic != null) {
+            return Optional.of(topic);
+        }
+        long readGeneration = generation();
+        topic = topicRepository.findById(topicId).orElse(null);
+        if (topic != null) {
+            putIfCurrent(topics, topicId, topic, readGeneration);
+        }
+        return Optional.ofNullable(topic);
+    }
+
+    /**
+     * Returns the topics in the order of {@code topicIds}, loading every uncached one with a single $in query.
+     * Ids without a topic document are skipped.
+     */
+    public List<TopicEntity> findTopics(List<String> topicIds) {
+        Map<String, TopicEntity> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String topicId : topicIds) {
+            TopicEntity topic = topics.get(topicId);
+            if (topic != null) {
+                found.put(topicId, topic);
+            } else {
+                missing.add(topicId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long readGeneration = generation();
+            for (TopicEntity topic : topicRepository.findAllById(missing)) {
+                found.put(topic.getId(), topic);
+                putIfCurrent(topics, topic.getId(), topic, readGeneration);
+            }
+        }
+        List<TopicEntity> ordered = new ArrayList<>();
+        for (String topicId : topicIds) {
+            TopicEntity topic = found.get(topicId);
+            if (topic != null) {
+                ordered.add(topic);
+            }
+        }
+        return ordered;
+    }
+
+    public synchronized void invalidateCoursePath(String coursePathId) {
+        generation++;
+        coursePaths.invalidate(coursePathId);
+    }
+
+    public synchronized void invalidateTopics(Collection<String> topicIds) {
+        generation++;
+        for (String topicId : topicIds) {
+            topics.invalidate(topicId);
+        }
+    }
+
+    // Browse tags are stored while handling the same event, so this runs after CoursePathBrowseService
+    @EventListener
+    @Order(SearchResultCache.INVALIDATION_ORDER)
+    public void onCoursePathCreated(CoursePathCreatedEvent event) {
+        invalidateCoursePath(event.getCoursePath().getId());
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(CoursePathEnrollmentChangedEvent event) {
+        invalidateCoursePath(event.getCoursePathId());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "contentDocumentCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("coursePaths", coursePaths.stats());
+        metrics.put("topics", topics.stats());
+        return metrics;
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized <V> void putIfCurrent(BoundedLruCache<String, V> cache, String id, V value, long readGeneration) {
+        if (readGeneration == generation) {
+            cache.put(id, value);
+        }
+    }
+
+    // Rough heap footprint: two bytes per character plus a fixed overhead per object and list slot
+
+    static long estimateBytes(CoursePathEntity coursePath) {
+        return 200 + chars(coursePath.getId()) + chars(coursePath.getCreatorId()) + chars(coursePath.getTitle())
+                + chars(coursePath.getSubject()) + chars(coursePath.getGenerationRequestId())
+                + chars(coursePath.getDescription()) + chars(coursePath.getTargetLevel()) + chars(coursePath.getCreatedBy())
+                + chars(coursePath.getTopics()) + chars(coursePath.getTags());
+    }
+
+    static long estimateBytes(TopicEntity topic) {
+        long bytes = 150 + chars(topic.getId()) + chars(topic.getName()) + chars(topic.getDescription())
+                + chars(topic.getGenerationRequestId()) + chars(topic.getPrerequisites()) + chars(topic.getTags());
+        if (topic.getVideoInfo() != null) {
+            bytes += 60 + chars(topic.getVideoInfo().getYoutubeUrl()) + chars(topic.getVideoInfo().getTitle());
+        }
+        return bytes;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    private static long chars(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long bytes = 40;
+        for (String value : values) {
+            bytes += 8 + chars(value);
+        }
+        return bytes;
+    }
+}
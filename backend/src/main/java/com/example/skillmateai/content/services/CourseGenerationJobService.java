@@ -0,0 +1,565 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.common.scheduling.FairShareQueue;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity.Status;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CourseGenerationJobUpdatedEvent;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.exceptions.GenerationQueueFullException;
+import com.example.skillmateai.content.repositories.CourseGenerationJobRepository;
+import com.example.skillmateai.user.entities.UserEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the lifecycle of course generation jobs: a job is recorded as soon as the user asks for a course,
+ * handed to the analyzer on a background thread, and completed when the analyzer's course path
+ * document shows up in content_coursePath.
+ * <p>
+ * Identical requests (same normalized subject and difficulty) are coalesced: only the first one, the
+ * leader, calls the analyzer. Later ones become followers of the leader and are enrolled in its course
+ * path when it completes, or fail with it.
+ * <p>
+ * Leaders wait in per-user queues served by weighted round-robin (admins weigh more) and at most
+ * {@code aiAnalyzer.maxConcurrentJobs} of them are running at the analyzer at once. A running job keeps
+ * its slot until it completes or fails, since the analyzer keeps working after it accepts the request.
+ * <p>
+ * The lock only guards the in-memory leader and scheduler state. Job documents, enrollments and job
+ * update events are handled after it is released, so a slow database does not serialize every request
+ * for a course. A leader's document is saved before its in-memory state changes, so a follower that sees
+ * the change can catch up from the leader's document.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseGenerationJobService implements MetricsReporter {
+
+    public static final List<Status> ACTIVE_STATUSES = List.of(Status.QUEUED, Status.SUBMITTED);
+
+    private final CourseGenerationJobRepository courseGenerationJobRepository;
+    private final ThreadPoolTaskExecutor courseGenerationExecutor;
+    private final AnalyzerClient analyzerClient;
+    private final ProgressService progressService;
+    private final ContentDocumentCache contentDocumentCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${aiAnalyzer.jobTimeoutMinutes:30}")
+    private long jobTimeoutMinutes;
+
+    @Value("${aiAnalyzer.clockSkewMillis:60000}")
+    private long clockSkewMillis;
+
+    @Value("${aiAnalyzer.maxConcurrentJobs:4}")
+    private int maxConcurrentJobs;
+
+    @Value("${aiAnalyzer.maxQueuedPerUser:3}")
+    private int maxQueuedPerUser;
+
+    @Value("${aiAnalyzer.maxQueuedPerAdmin:50}")
+    private int maxQueuedPerAdmin;
+
+    @Value("${aiAnalyzer.adminWeight:4}")
+    private int adminWeight;
+
+    private static final String CLASS_USER = "user";
+    private static final String CLASS_ADMIN = "admin";
+
+    private record QueuedJob(String jobId, String userClass, long enqueuedAt) {}
+
+    private record LeaderRef(String jobId, Status status) {}
+
+    // coalesce key -> leader job currently generating that course; guarded by this
+    private final Map<String, LeaderRef> inFlightLeaders = new HashMap<>();
+
+    // Scheduler state, guarded by this
+    private final FairShareQueue<QueuedJob> queue = new FairShareQueue<>();
+    private final Map<String, Long> runningJobs = new HashMap<>(); // job id -> dispatched at
+    private final Map<String, Integer> queuedByClass = new HashMap<>();
+    private final Map<String, LatencyHistogram> waitTimeByClass = Map.of(
+            CLASS_USER, new LatencyHistogram(),
+            CLASS_ADMIN, new LatencyHistogram());
+    private double averageRunMillis = 60_000; // moving average, only used for retry hints
+    private final AtomicLong rejectedJobs = new AtomicLong();
+
+    private final AtomicLong leaderJobs = new AtomicLong();
+    private final AtomicLong coalescedJobs = new AtomicLong();
+
+    /**
+     * Rebuilds the in-memory state after a restart: submitted leaders hold their slots again and queued
+     * leaders are queued again in their original order.
+     */
+    @PostConstruct
+    void restoreInFlightLeaders(){
+        try {
+            List<CourseGenerationJobEntity> leaders = courseGenerationJobRepository.findByLeaderJobIdIsNullAndStatusIn(ACTIVE_STATUSES);
+            leaders.sort(Comparator.comparingLong(CourseGenerationJobEntity::getCreatedAt));
+            synchronized(this){
+                long now = System.currentTimeMillis();
+                for(CourseGenerationJobEntity job : leaders){
+                    if(job.getCoalesceKey() != null){
+                        inFlightLeaders.putIfAbsent(job.getCoalesceKey(), new LeaderRef(job.getId(), job.getStatus()));
+                    }
+                    if(job.getStatus() == Status.SUBMITTED){
+                        runningJobs.put(job.getId(), now);
+                    } else {
+                        // The queue limit applied when the job was accepted, so do not reject it now
+                        boolean admin = CLASS_ADMIN.equals(job.getUserClass());
+                        enqueue(job, admin ? CLASS_ADMIN : CLASS_USER, admin ? adminWeight : 1, Integer.MAX_VALUE);
+                    }
+                }
+            }
+            pump();
+        } catch (Exception e){
+            log.error("Unexpected error restoring in-flight generation jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    public static String coalesceKey(String subject, String difficulty){
+        String normalizedSubject = subject.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return normalizedSubject + "|" + difficulty.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public CourseGenerationJobEntity submit(UserEntity user, String subject, String difficulty){
+        String key = coalesceKey(subject, difficulty);
+        // A user repeating their own request gets the job they already have
+        Optional<CourseGenerationJobEntity> existing = courseGenerationJobRepository
+                .findFirstByUserIdAndCoalesceKeyAndStatusIn(user.getId(), key, ACTIVE_STATUSES);
+        if(existing.isPresent()){
+            return existing.get();
+        }
+
+        boolean admin = user.getRoles() != null && user.getRoles().contains("ADMIN");
+        String userClass = admin ? CLASS_ADMIN : CLASS_USER;
+        int maxQueued = admin ? maxQueuedPerAdmin : maxQueuedPerUser;
+
+        LeaderRef leader;
+        CourseGenerationJobEntity job;
+        synchronized(this){
+            leader = inFlightLeaders.get(key);
+            if(leader != null){
+                coalescedJobs.incrementAndGet();
+                job = newJob(user, subject, difficulty, key, leader);
+            } else {
+                if(!analyzerClient.isAvailable()){
+                    // No point queueing work the circuit breaker would reject anyway
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI Analyzer is temporarily unavailable, please try again later");
+                }
+                if(queue.depth(user.getId()) >= maxQueued){
+                    throw queueFull(maxQueued);
+                }
+                job = newJob(user, subject, difficulty, key, null);
+                job.setUserClass(userClass);
+                // Claim the key before the job is saved so identical requests arriving meanwhile coalesce onto it
+                job.setId(new ObjectId().toHexString());
+                inFlightLeaders.put(key, new LeaderRef(job.getId(), job.getStatus()));
+                leaderJobs.incrementAndGet();
+            }
+        }
+
+        if(leader != null){
+            CourseGenerationJobEntity follower = saveAndPublish(job);
+            boolean leaderMoved;
+            synchronized(this){
+                leaderMoved = !leader.equals(inFlightLeaders.get(key));
+            }
+            // The leader may have moved on while the follower was saved, after it last updated its followers
+            return leaderMoved ? catchUpWithLeader(follower) : follower;
+        }
+
+        try {
+            job = saveAndPublish(job);
+        } catch (RuntimeException e){
+            synchronized(this){
+                releaseLeader(key, job.getId());
+            }
+            throw e;
+        }
+        GenerationQueueFullException rejected = null;
+        synchronized(this){
+            if(!enqueue(job, userClass, admin ? adminWeight : 1, maxQueued)){
+                // Another request of the same user filled the queue while this one was being saved
+                rejected = queueFull(maxQueued);
+            }
+        }
+        if(rejected != null){
+            markFailed(job.getId(), "Too many course paths waiting to be generated");
+            throw rejected;
+        }
+        pump();
+        return job;
+    }
+
+    /**
+     * Analyzer request id whose topics belong to the job; followers share their leader's.
+     */
+    public String resolveAnalyzerRequestId(CourseGenerationJobEntity job){
+        if(job.getLeaderJobId() == null){
+            return job.getAnalyzerRequestId();
+        }
+        return courseGenerationJobRepository.findById(job.getLeaderJobId())
+                .map(CourseGenerationJobEntity::getAnalyzerRequestId)
+                .orElse(null);
+    }
+
+    public CourseGenerationJobEntity getJobForUser(String jobId, String userId){
+        CourseGenerationJobEntity job = courseGenerationJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Generation job not found"));
+        if(!job.getUserId().equals(userId)){
+            // Do not reveal that another user's job exists
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Generation job not found");
+        }
+        return job;
+    }
+
+    private CourseGenerationJobEntity newJob(UserEntity user, String subject, String difficulty, String key, LeaderRef leader){
+        long now = System.currentTimeMillis();
+        return CourseGenerationJobEntity.builder()
+                .userId(user.getId())
+                .userEmail(user.getEmail())
+                .subject(subject.trim())
+                .difficulty(difficulty.trim().toLowerCase())
+                .coalesceKey(key)
+                .leaderJobId(leader != null ? leader.jobId() : null)
+                .status(leader != null ? leader.status() : Status.QUEUED)
+                .message(leader != null ? "Joined an identical request that is already being generated" : "Waiting for the analyzer")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    // Caller holds the lock
+    private void releaseLeader(String key, String jobId){
+        if(key != null){
+            inFlightLeaders.computeIfPresent(key, (k, leader) -> leader.jobId().equals(jobId) ? null : leader);
+        }
+    }
+
+    // Caller holds the lock
+    private GenerationQueueFullException queueFull(int maxQueued){
+        rejectedJobs.incrementAndGet();
+        long retryAfterSeconds = estimateRetryAfterSeconds();
+        return new GenerationQueueFullException("You already have " + maxQueued
+                + " course paths waiting to be generated, please try again in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+    }
+
+    /**
+     * Brings a follower that was saved while its leader changed state up to date with the leader: submitted,
+     * completed or failed. The leader's document is saved before its in-memory state changes, so it is
+     * already up to date here.
+     */
+    private CourseGenerationJobEntity catchUpWithLeader(CourseGenerationJobEntity follower){
+        CourseGenerationJobEntity current = courseGenerationJobRepository.findById(follower.getId()).orElse(follower);
+        if(!ACTIVE_STATUSES.contains(current.getStatus())){
+            return current;
+        }
+        CourseGenerationJobEntity leader = courseGenerationJobRepository.findById(current.getLeaderJobId()).orElse(null);
+        if(leader == null || leader.getStatus() == Status.FAILED){
+            fail(current, leader != null ? leader.getMessage() : "Internal error generating course path");
+        } else if(leader.getStatus() == Status.COMPLETED){
+            Optional<CoursePathEntity> coursePath = contentDocumentCache.findCoursePath(leader.getCoursePathId());
+            if(coursePath.isEmpty()){
+                fail(current, "Generated course path no longer exists");
+            } else {
+                try {
+                    progressService.enrollUserInCoursePath(current.getUserId(), coursePath.get());
+                    complete(current, leader.getCoursePathId());
+                } catch (Exception e){
+                    log.error("Unexpected error enrolling follower job {}: {}", current.getId(), e.getMessage(), e);
+                    fail(current, "Internal error enrolling in generated course path");
+                }
+            }
+        } else if(leader.getStatus() != current.getStatus()){
+            current.setStatus(leader.getStatus());
+            current.setUpdatedAt(System.currentTimeMillis());
+            saveAndPublish(current);
+        }
+        return current;
+    }
+
+    // Caller holds the lock
+    private boolean enqueue(CourseGenerationJobEntity job, String userClass, int weight, int maxQueued){
+        if(!queue.offer(job.getUserId(), weight, maxQueued, new QueuedJob(job.getId(), userClass, System.currentTimeMillis()))){
+            return false;
+        }
+        queuedByClass.merge(userClass, 1, Integer::sum);
+        return true;
+    }
+
+    // Caller holds the lock
+    private void dequeue(CourseGenerationJobEntity job){
+        String userClass = CLASS_ADMIN.equals(job.getUserClass()) ? CLASS_ADMIN : CLASS_USER;
+        if(queue.removeIf(job.getUserId(), queued -> queued.jobId().equals(job.getId())) > 0){
+            queuedByClass.merge(userClass, -1, Integer::sum);
+        }
+    }
+
+    /**
+     * Starts queued jobs while there are free slots.
+     */
+    private void pump(){
+        for(String jobId : claimFreeSlots()){
+            try {
+                courseGenerationExecutor.execute(() -> dispatch(jobId));
+            } catch (TaskRejectedException e){
+                log.warn("Course generation executor rejected job {}", jobId);
+                markFailed(jobId, "Course generation queue is full");
+            }
+        }
+    }
+
+    private synchronized List<String> claimFreeSlots(){
+        List<String> jobIds = new ArrayList<>();
+        QueuedJob next;
+        while(runningJobs.size() < maxConcurrentJobs && (next = queue.poll()) != null){
+            long now = System.currentTimeMillis();
+            queuedByClass.merge(next.userClass(), -1, Integer::sum);
+            waitTimeByClass.get(next.userClass()).record(now - next.enqueuedAt());
+            runningJobs.put(next.jobId(), now);
+            jobIds.add(next.jobId());
+        }
+        return jobIds;
+    }
+
+    private void releaseSlot(String jobId){
+        synchronized(this){
+            Long dispatchedAt = runningJobs.remove(jobId);
+            if(dispatchedAt == null){
+                return;
+            }
+            averageRunMillis = 0.8 * averageRunMillis + 0.2 * (System.currentTimeMillis() - dispatchedAt);
+        }
+        pump();
+    }
+
+    /**
+     * Analyzer slots that are neither running nor claimed by a queued job, i.e. capacity no one is waiting for.
+     */
+    public synchronized int availableSlots(){
+        return Math.max(0, maxConcurrentJobs - runningJobs.size() - queue.size());
+    }
+
+    // Caller holds the lock
+    private long estimateRetryAfterSeconds(){
+        double rounds = Math.max(1.0, (double) queue.size() / Math.max(1, maxConcurrentJobs));
+        long seconds = (long) Math.ceil(rounds * averageRunMillis / 1000);
+        return Math.min(3600, Math.max(5, seconds));
+    }
+
+    private void dispatch(String jobId){
+        CourseGenerationJobEntity job = courseGenerationJobRepository.findById(jobId).orElse(null);
+        if(job == null || job.getStatus() != Status.QUEUED){
+            // Failed or timed out while it was waiting in the queue
+            releaseSlot(jobId);
+            return;
+        }
+        try {
+            Map<String,Object> aiResponse = analyzerClient.requestCoursePath(job.getSubject(), job.getDifficulty(), job.getUserEmail());
+            Object requestId = aiResponse.get("requestId");
+            markSubmitted(jobId, requestId != null ? requestId.toString() : null);
+        } catch (ResponseStatusException e){
+            markFailed(jobId, e.getReason() == null ? "Analyzer request failed" : e.getReason());
+        } catch (Exception e){
+            log.error("Unexpected error dispatching generation job {}: {}", jobId, e.getMessage(), e);
+            markFailed(jobId, "Internal error generating course path");
+        }
+    }
+
+    /**
+     * Matches a freshly inserted course path to its job by the analyzer request id, or else to the oldest
+     * waiting leader job of its creator with the same difficulty, then hands it to the leader's followers.
+     */
+    @EventListener
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        CoursePathEntity coursePath = event.getCoursePath();
+
+        // Courses from the current analyzer carry the request id, older ones are matched by creator and level
+        if(coursePath.getGenerationRequestId() != null){
+            Optional<CourseGenerationJobEntity> job = courseGenerationJobRepository.findFirstByAnalyzerRequestId(coursePath.getGenerationRequestId());
+            if(job.isPresent() && ACTIVE_STATUSES.contains(job.get().getStatus())){
+                complete(job.get(), coursePath.getId());
+                log.info("Generation job {} completed with course path {}", job.get().getId(), coursePath.getId());
+                completeFollowers(job.get(), coursePath);
+                return;
+            }
+        }
+
+        if(coursePath.getCreatorId() == null){
+            return;
+        }
+        List<CourseGenerationJobEntity> candidates = courseGenerationJobRepository
+                .findByUserIdAndStatusInOrderByCreatedAtAsc(coursePath.getCreatorId(), ACTIVE_STATUSES);
+        for(CourseGenerationJobEntity job : candidates){
+            if(job.getLeaderJobId() != null){
+                continue;
+            }
+            boolean sameLevel = coursePath.getTargetLevel() == null
+                    || coursePath.getTargetLevel().equalsIgnoreCase(job.getDifficulty());
+            if(sameLevel && coursePath.getCreatedAt() >= job.getCreatedAt() - clockSkewMillis){
+                complete(job, coursePath.getId());
+                log.info("Generation job {} completed with course path {}", job.getId(), coursePath.getId());
+                completeFollowers(job, coursePath);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${aiAnalyzer.jobSweepMillis:60000}")
+    public void failTimedOutJobs(){
+        try {
+            long cutoff = System.currentTimeMillis() - jobTimeoutMinutes * 60 * 1000;
+            for(CourseGenerationJobEntity job : courseGenerationJobRepository.findByStatusInAndUpdatedAtLessThan(ACTIVE_STATUSES, cutoff)){
+                // Followers time out together with their leader, unless the leader is already gone
+                boolean orphaned = job.getLeaderJobId() != null && courseGenerationJobRepository.findById(job.getLeaderJobId())
+                        .map(leader -> !ACTIVE_STATUSES.contains(leader.getStatus()))
+                        .orElse(true);
+                if(job.getLeaderJobId() == null || orphaned){
+                    log.warn("Generation job {} timed out waiting for the analyzer", job.getId());
+                    markFailed(job.getId(), "Timed out waiting for the analyzer");
+                }
+            }
+        } catch (Exception e){
+            log.error("Unexpected error sweeping generation jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "courseGenerationJobs";
+    }
+
+    @Override
+    public synchronized Map<String, Object> getMetrics() {
+        long leaders = leaderJobs.get();
+        long coalesced = coalescedJobs.get();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("inFlightLeaders", inFlightLeaders.size());
+        metrics.put("leaderJobs", leaders);
+        metrics.put("coalescedJobs", coalesced);
+        metrics.put("coalescedRatio", leaders + coalesced == 0 ? 0.0 : (double) coalesced / (leaders + coalesced));
+        metrics.put("runningJobs", runningJobs.size());
+        metrics.put("maxConcurrentJobs", maxConcurrentJobs);
+        metrics.put("queuedJobs", queue.size());
+        metrics.put("queuedUsers", queue.keys());
+        metrics.put("rejectedJobs", rejectedJobs.get());
+        Map<String, Object> byClass = new HashMap<>();
+        for(String userClass : List.of(CLASS_USER, CLASS_ADMIN)){
+            Map<String, Object> classMetrics = new HashMap<>();
+            classMetrics.put("queueDepth", queuedByClass.getOrDefault(userClass, 0));
+            classMetrics.put("waitTime", waitTimeByClass.get(userClass).snapshot());
+            byClass.put(userClass, classMetrics);
+        }
+        metrics.put("byUserClass", byClass);
+        return metrics;
+    }
+
+    private void complete(CourseGenerationJobEntity job, String coursePathId){
+        long now = System.currentTimeMillis();
+        job.setStatus(Status.COMPLETED);
+        job.setCoursePathId(coursePathId);
+        job.setMessage("Course path is ready");
+        job.setUpdatedAt(now);
+        job.setCompletedAt(now);
+        saveAndPublish(job);
+        if(job.getLeaderJobId() == null){
+            synchronized(this){
+                releaseLeader(job.getCoalesceKey(), job.getId());
+            }
+            releaseSlot(job.getId());
+        }
+    }
+
+    private void completeFollowers(CourseGenerationJobEntity leader, CoursePathEntity coursePath){
+        for(CourseGenerationJobEntity follower : courseGenerationJobRepository.findByLeaderJobIdAndStatusIn(leader.getId(), ACTIVE_STATUSES)){
+            try {
+                progressService.enrollUserInCoursePath(follower.getUserId(), coursePath);
+                complete(follower, coursePath.getId());
+            } catch (Exception e){
+                log.error("Unexpected error enrolling follower job {}: {}", follower.getId(), e.getMessage(), e);
+                fail(follower, "Internal error enrolling in generated course path");
+            }
+        }
+    }
+
+    private void markSubmitted(String jobId, String analyzerRequestId){
+        courseGenerationJobRepository.findById(jobId).ifPresent(job -> {
+            job.setAnalyzerRequestId(analyzerRequestId);
+            // The course may already have been detected if the analyzer was very quick
+            if(job.getStatus() == Status.QUEUED){
+                job.setStatus(Status.SUBMITTED);
+                job.setMessage("Course path is being generated");
+            }
+            job.setUpdatedAt(System.currentTimeMillis());
+            saveAndPublish(job);
+            if(job.getStatus() == Status.SUBMITTED && job.getCoalesceKey() != null){
+                synchronized(this){
+                    inFlightLeaders.computeIfPresent(job.getCoalesceKey(),
+                            (k, leader) -> leader.jobId().equals(jobId) ? new LeaderRef(jobId, Status.SUBMITTED) : leader);
+                }
+            }
+
+            for(CourseGenerationJobEntity follower : courseGenerationJobRepository.findByLeaderJobIdAndStatusIn(jobId, List.of(Status.QUEUED))){
+                follower.setStatus(Status.SUBMITTED);
+                follower.setUpdatedAt(job.getUpdatedAt());
+                saveAndPublish(follower);
+            }
+        });
+    }
+
+    private void markFailed(String jobId, String message){
+        courseGenerationJobRepository.findById(jobId).ifPresent(job -> {
+            if(job.getStatus() == Status.COMPLETED){
+                return;
+            }
+            fail(job, message);
+            if(job.getLeaderJobId() == null){
+                synchronized(this){
+                    releaseLeader(job.getCoalesceKey(), jobId);
+                    // A leader that fails while still waiting must not keep its place in the queue
+                    dequeue(job);
+                }
+                releaseSlot(jobId);
+                for(CourseGenerationJobEntity follower : courseGenerationJobRepository.findByLeaderJobIdAndStatusIn(jobId, ACTIVE_STATUSES)){
+                    fail(follower, message);
+                }
+            }
+        });
+    }
+
+    private CourseGenerationJobEntity saveAndPublish(CourseGenerationJobEntity job){
+        CourseGenerationJobEntity saved = courseGenerationJobRepository.save(job);
+        eventPublisher.publishEvent(new CourseGenerationJobUpdatedEvent(this, saved));
+        return saved;
+    }
+
+    private void fail(CourseGenerationJobEntity job, String message){
+        long now = System.currentTimeMillis();
+        job.setStatus(Status.FAILED);
+        job.setMessage(message);
+        job.setUpdatedAt(now);
+        job.setCompletedAt(now);
+        saveAndPublish(job);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.events.CourseGenerationJobUpdatedEvent;
+import com.example.skillmateai.content.utilities.CreateContentResponseUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pushes generation job updates to the requesting user over STOMP, on /user/queue/course-generation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseGenerationNotifier {
+
+    public static final String DESTINATION = "/queue/course-generation";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final CreateContentResponseUtil createContentResponseUtil;
+
+    @EventListener
+    public void onJobUpdated(CourseGenerationJobUpdatedEvent event){
+        CourseGenerationJobEntity job = event.getJob();
+        if(job.getUserEmail() == null){
+            return;
+        }
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", eventType(job.getStatus()));
+            payload.put("job", createContentResponseUtil.createGenerationJobMap(job));
+            // User destinations are resolved by principal name, which is the email
+            messagingTemplate.convertAndSendToUser(job.getUserEmail(), DESTINATION, payload);
+        } catch (Exception e){
+            // Notifications are best effort, clients can always fall back to the status endpoint
+            log.error("Unexpected error pushing generation job {} update: {}", job.getId(), e.getMessage(), e);
+        }
+    }
+
+    static String eventType(CourseGenerationJobEntity.Status status){
+        return switch (status){
+            case QUEUED -> "course.queued";
+            case SUBMITTED -> "course.progress";
+            case COMPLETED -> "course.ready";
+            case FAILED -> "course.failed";
+        };
+    }
+}
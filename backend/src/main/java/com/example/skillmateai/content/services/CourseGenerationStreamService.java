@@ -0,0 +1,257 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity.Status;
+import com.example.skillmateai.content.entities.TopicEntity;
+import com.example.skillmateai.content.events.CourseGenerationJobUpdatedEvent;
+import com.example.skillmateai.content.repositories.CourseGenerationJobRepository;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import com.example.skillmateai.content.utilities.CreateContentResponseUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the topics of a generation job over Server-Sent Events as the analyzer inserts them into
+ * content_topic, so a student can start on the first topic while the rest are still being analyzed.
+ * <p>
+ * Events: {@code status} on every job transition, {@code topic} for each new topic, then {@code completed}
+ * or {@code failed}, after which the stream is closed. One poll per tick serves every open stream.
+ * <p>
+ * Job updates are published on the thread that changed the job, so they are relayed from a single
+ * thread of their own, which keeps them in order without making that thread wait on slow clients.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseGenerationStreamService implements MetricsReporter {
+
+    private final TopicRepository topicRepository;
+    private final CourseGenerationJobRepository courseGenerationJobRepository;
+    private final CoursePathRepository coursePathRepository;
+    private final CourseGenerationJobService courseGenerationJobService;
+    private final CreateContentResponseUtil createContentResponseUtil;
+
+    @Value("${aiAnalyzer.streamTimeoutMinutes:30}")
+    private long streamTimeoutMinutes;
+
+    private static final class Stream {
+        private final String jobId;
+        private final SseEmitter emitter;
+        private final Set<String> sentTopicIds = new HashSet<>();
+        private volatile String analyzerRequestId;
+        private volatile boolean closed;
+        private boolean finished; // guarded by the stream
+
+        private Stream(String jobId, SseEmitter emitter) {
+            this.jobId = jobId;
+            this.emitter = emitter;
+        }
+    }
+
+    private final List<Stream> streams = new CopyOnWriteArrayList<>();
+    private ExecutorService updateRelay;
+
+    @PostConstruct
+    void startRelay(){
+        updateRelay = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "generation-stream-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopRelay(){
+        updateRelay.shutdownNow();
+    }
+
+    public SseEmitter open(CourseGenerationJobEntity job){
+        SseEmitter emitter = new SseEmitter(streamTimeoutMinutes * 60 * 1000);
+        Stream stream = new Stream(job.getId(), emitter);
+        emitter.onCompletion(() -> close(stream));
+        emitter.onTimeout(() -> close(stream));
+        emitter.onError(e -> close(stream));
+
+        // Register before reading the job again, so a transition between the two is either seen here or relayed
+        streams.add(stream);
+        CourseGenerationJobEntity current = courseGenerationJobRepository.findById(job.getId()).orElse(job);
+        stream.analyzerRequestId = courseGenerationJobService.resolveAnalyzerRequestId(current);
+
+        send(stream, "status", createContentResponseUtil.createGenerationJobMap(current));
+        if(current.getStatus() == Status.COMPLETED || current.getStatus() == Status.FAILED){
+            finish(stream, current);
+        } else if(stream.analyzerRequestId != null){
+            sendNewTopics(stream, topicRepository.findByGenerationRequestIdIn(List.of(stream.analyzerRequestId)));
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${aiAnalyzer.topicPollMillis:1000}")
+    public void pollTopics(){
+        if(streams.isEmpty()){
+            return;
+        }
+        try {
+            Set<String> requestIds = streams.stream()
+                    .map(stream -> stream.analyzerRequestId)
+                    .filter(requestId -> requestId != null)
+                    .collect(Collectors.toSet());
+            if(requestIds.isEmpty()){
+                return;
+            }
+            Map<String, List<TopicEntity>> topicsByRequest = topicRepository.findByGenerationRequestIdIn(requestIds).stream()
+                    .collect(Collectors.groupingBy(TopicEntity::getGenerationRequestId));
+            for(Stream stream : streams){
+                List<TopicEntity> topics = topicsByRequest.get(stream.analyzerRequestId);
+                if(topics != null){
+                    sendNewTopics(stream, topics);
+                }
+            }
+        } catch (Exception e){
+            log.error("Unexpected error polling generated topics: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onJobUpdated(CourseGenerationJobUpdatedEvent event){
+        if(streams.isEmpty()){
+            return;
+        }
+        CourseGenerationJobEntity job = event.getJob();
+        updateRelay.execute(() -> {
+            try {
+                relayJobUpdate(job);
+            } catch (Exception e){
+                log.error("Unexpected error relaying generation job {}: {}", job.getId(), e.getMessage(), e);
+            }
+        });
+    }
+
+    private void relayJobUpdate(CourseGenerationJobEntity job){
+        for(Stream stream : streams){
+            if(stream.jobId.equals(job.getId())){
+                if(stream.analyzerRequestId == null){
+                    stream.analyzerRequestId = courseGenerationJobService.resolveAnalyzerRequestId(job);
+                }
+                send(stream, "status", createContentResponseUtil.createGenerationJobMap(job));
+                if(job.getStatus() == Status.COMPLETED || job.getStatus() == Status.FAILED){
+                    finish(stream, job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends whatever topics the stream has not seen yet, then the terminal event, and closes the stream.
+     */
+    private void finish(Stream stream, CourseGenerationJobEntity job){
+        synchronized (stream){
+            // open and the relay may both see the terminal state
+            if(stream.finished){
+                return;
+            }
+            stream.finished = true;
+        }
+        try {
+            if(job.getStatus() == Status.COMPLETED && job.getCoursePathId() != null){
+                // The course path lists every topic, including ones stored before topics carried a request id
+                coursePathRepository.findById(job.getCoursePathId()).ifPresent(coursePath -> {
+                    List<String> topicIds = coursePath.getTopics() != null ? coursePath.getTopics() : List.of();
+                    Map<String, TopicEntity> topicsById = topicRepository.findAllById(topicIds).stream()
+                            .collect(Collectors.toMap(TopicEntity::getId, topic -> topic, (a, b) -> a));
+                    List<TopicEntity> ordered = new ArrayList<>();
+                    for(String topicId : topicIds){
+                        if(topicsById.containsKey(topicId)){
+                            ordered.add(topicsById.get(topicId));
+                        }
+                    }
+                    sendTopicsInOrder(stream, ordered);
+                });
+                Map<String, Object> data = new HashMap<>();
+                data.put("jobId", job.getId());
+                data.put("coursePathId", job.getCoursePathId());
+                send(stream, "completed", data);
+            } else {
+                Map<String, Object> data = new HashMap<>();
+                data.put("jobId", job.getId());
+                data.put("message", job.getMessage());
+                send(stream, "failed", data);
+            }
+        } catch (Exception e){
+            log.error("Unexpected error finishing stream for job {}: {}", job.getId(), e.getMessage(), e);
+        } finally {
+            stream.emitter.complete();
+            close(stream);
+        }
+    }
+
+    private void sendNewTopics(Stream stream, List<TopicEntity> topics){
+        List<TopicEntity> ordered = new ArrayList<>(topics);
+        ordered.sort(Comparator.comparing(TopicEntity::getPosition, Comparator.nullsLast(Comparator.naturalOrder())));
+        sendTopicsInOrder(stream, ordered);
+    }
+
+    private void sendTopicsInOrder(Stream stream, List<TopicEntity> topics){
+        synchronized (stream){
+            for(TopicEntity topic : topics){
+                if(!stream.closed && stream.sentTopicIds.add(topic.getId())){
+                    send(stream, "topic", topic);
+                }
+            }
+        }
+    }
+
+    private void send(Stream stream, String eventName, Object data){
+        synchronized (stream){
+            if(stream.closed){
+                return;
+            }
+            try {
+                stream.emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e){
+                // Client went away
+                log.debug("Dropping generation stream for job {}: {}", stream.jobId, e.getMessage());
+                close(stream);
+            }
+        }
+    }
+
+    private void close(Stream stream){
+        stream.closed = true;
+        streams.remove(stream);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "courseGenerationStreams";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("openStreams", streams.size());
+        return metrics;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.TopicEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Public catalog browse: filter by level, minimum rating and tags, sort by rating, recency or popularity.
+ * Pages are fetched with keyset (seek) pagination on the compound browse indexes of content_coursePath,
+ * so page 1000 costs the same as page 1. Facet counts are computed with $facet on the first page only.
+ * <p>
+ * Tags live on topics, so each course path carries the union of its topics' tags, set when the course
+ * path appears and backfilled at startup for older documents.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathBrowseService {
+
+    public enum SortOrder {
+        RATING("averageRating"),
+        RECENT("createdAt"),
+        POPULAR("enrollmentCount");
+
+        private final String field;
+
+        SortOrder(String field) {
+            this.field = field;
+        }
+    }
+
+    public record BrowsePage(List<CoursePathEntity> coursePaths, String nextCursor, Map<String, Object> facets) {}
+
+    private static final int TOP_TAG_FACETS = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final TopicRepository topicRepository;
+
+    @Value("${app.browse.maxLimit:50}")
+    private int maxLimit;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTags(){
+        try {
+            Query missing = Query.query(Criteria.where("tags").exists(false));
+            missing.fields().include("topics");
+            int updated = 0;
+            for(CoursePathEntity coursePath : mongoTemplate.find(missing, CoursePathEntity.class)){
+                storeTags(coursePath);
+                updated++;
+            }
+            if(updated > 0){
+                log.info("Backfilled browse tags of {} course paths", updated);
+            }
+        } catch (Exception e){
+            log.error("Unexpected error backfilling course path tags: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(0) // before ContentDocumentCache drops the course path it updates
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        try {
+            if(event.getCoursePath().getTags() == null){
+                storeTags(event.getCoursePath());
+            }
+        } catch (Exception e){
+            log.error("Unexpected error storing course path tags: {}", e.getMessage(), e);
+        }
+    }
+
+    public BrowsePage browse(String level, Double minRating, List<String> tags, SortOrder sort, int limit, String cursor){
+        try {
+            if(limit < 1 || limit > maxLimit){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxLimit);
+            }
+            if(minRating != null && (minRating < 0 || minRating > 5)){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Minimum rating must be between 0 and 5");
+            }
+
+            Criteria filter = filterCriteria(level, minRating, tags);
+            Query query = new Query();
+            if(!filter.getCriteriaObject().isEmpty()){
+                query.addCriteria(filter);
+            }
+            if(cursor != null && !cursor.isBlank()){
+                query.addCriteria(seekCriteria(sort, cursor));
+            }
+            // createdAt then _id break ties so every document has exactly one position in the order
+            query.with(sort == SortOrder.RECENT
+                    ? Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"))
+                    : Sort.by(Sort.Order.desc(sort.field), Sort.Order.desc("createdAt"), Sort.Order.desc("_id")));
+            query.limit(limit + 1);
+            query.fields().include("title", "description", "targetLevel", "averageRating", "enrollmentCount", "createdAt", "topics", "tags");
+
+            List<CoursePathEntity> coursePaths = mongoTemplate.find(query, CoursePathEntity.class);
+            String nextCursor = null;
+            if(coursePaths.size() > limit){
+                coursePaths = new ArrayList<>(coursePaths.subList(0, limit));
+                nextCursor = encodeCursor(sort, coursePaths.get(limit - 1));
+            }
+
+            Map<String, Object> facets = cursor == null || cursor.isBlank() ? facets(filter) : null;
+            return new BrowsePage(coursePaths, nextCursor, facets);
+
+        } catch (ResponseStatusException e){
+            throw e;
+        } catch (Exception e){
+            log.error("Unexpected error browsing course paths: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error browsing course paths");
+        }
+    }
+
+    private Criteria filterCriteria(String level, Double minRating, List<String> tags){
+        List<Criteria> criteria = new ArrayList<>();
+        if(level != null && !level.isBlank()){
+            // Levels are stored as the analyzer wrote them; listing the usual spellings keeps the index usable
+            String lower = level.trim().toLowerCase(Locale.ROOT);
+            String capitalized = Character.toUpperCase(lower.charAt(0)) + lower.substring(1);
+            criteria.add(Criteria.where("targetLevel").in(lower, capitalized, lower.toUpperCase(Locale.ROOT)));
+        }
+        if(minRating != null){
+            criteria.add(Criteria.where("averageRating").gte(minRating));
+        }
+        if(tags != null){
+            List<String> normalized = tags.stream()
+                    .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                    .filter(tag -> !tag.isEmpty())
+                    .distinct()
+                    .toList();
+            if(!normalized.isEmpty()){
+                criteria.add(Criteria.where("tags").all(normalized));
+            }
+        }
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+
+    /**
+     * Documents strictly after the cursor in (sort field desc, createdAt desc, _id desc) order.
+     */
+    private Criteria seekCriteria(SortOrder sort, String cursor){
+        String[] parts;
+        long createdAt;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+            createdAt = parts.length == 4 ? Long.parseLong(parts[2]) : 0;
+        } catch (IllegalArgumentException e){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if(parts.length != 4 || !parts[0].equals(sort.name()) || parts[3].isEmpty()){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        String id = parts[3];
+        // Among equal sort values: older courses, or the same creation time and a smaller id
+        Criteria afterTie = new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                new Criteria().andOperator(Criteria.where("createdAt").is(createdAt), Criteria.where("_id").lt(id)));
+        if(sort == SortOrder.RECENT){
+            return afterTie;
+        }
+        if(parts[1].isEmpty()){
+            // Unrated courses sort last; after one of them only unrated courses later in the tie order remain
+            return new Criteria().andOperator(Criteria.where(sort.field).is(null), afterTie);
+        }
+
+        Object value;
+        try {
+            value = sort == SortOrder.RATING ? (Object) Double.parseDouble(parts[1]) : (Object) Long.parseLong(parts[1]);
+        } catch (NumberFormatException e){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        List<Criteria> after = new ArrayList<>();
+        after.add(Criteria.where(sort.field).lt(value));
+        after.add(new Criteria().andOperator(Criteria.where(sort.field).is(value), afterTie));
+        if(sort == SortOrder.RATING){
+            after.add(Criteria.where(sort.field).is(null));
+        }
+        return new Criteria().orOperator(after);
+    }
+
+    private static String encodeCursor(SortOrder sort, CoursePathEntity last){
+        Object value = switch(sort){
+            case RATING -> last.getAverageRating();
+            case RECENT -> last.getCreatedAt();
+            case POPULAR -> last.getEnrollmentCount();
+        };
+        String raw = sort.name() + ":" + (value == null ? "" : value.toString()) + ":" + last.getCreatedAt() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Level, rating and tag counts of everything matching the filter, in one $facet round trip.
+     */
+    private Map<String, Object> facets(Criteria filter){
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(filter),
+                Aggregation.facet(
+                                Aggregation.project().and(StringOperators.ToLower.lowerValueOf("targetLevel")).as("level"),
+                                Aggregation.group("level").count().as("count"))
+                        .as("levels")
+                        .and(
+                                Aggregation.match(Criteria.where("averageRating").ne(null)),
+                                Aggregation.project().and(ArithmeticOperators.Floor.floorValueOf("averageRating")).as("stars"),
+                                Aggregation.group("stars").count().as("count"))
+                        .as("ratings")
+                        .and(
+                                Aggregation.unwind("tags"),
+                                Aggregation.group("tags").count().as("count"),
+                                Aggregation.sort(Sort.by(Sort.Order.desc("count"), Sort.Order.asc("_id"))),
+                                Aggregation.limit(TOP_TAG_FACETS))
+                        .as("tags")
+                        .and(Aggregation.count().as("count"))
+                        .as("total"));
+
+        Document result = mongoTemplate.aggregate(aggregation, CoursePathEntity.class, Document.class).getUniqueMappedResult();
+        Map<String, Object> facets = new HashMap<>();
+        facets.put("levels", bucketCounts(result, "levels"));
+        facets.put("ratings", bucketCounts(result, "ratings"));
+        facets.put("tags", bucketCounts(result, "tags"));
+        List<Document> total = result != null ? result.getList("total", Document.class) : List.of();
+        facets.put("totalCount", total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue());
+        return facets;
+    }
+
+    private static Map<String, Long> bucketCounts(Document result, String facet){
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if(result == null){
+            return counts;
+        }
+        for(Document bucket : result.getList(facet, Document.class)){
+            Object key = bucket.get("_id");
+            if(key instanceof Number number){
+                key = number.intValue();
+            }
+            counts.put(String.valueOf(key), ((Number) bucket.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private void storeTags(CoursePathEntity coursePath){
+        Set<String> tags = new LinkedHashSet<>();
+        if(coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()){
+            for(TopicEntity topic : topicRepository.findTagsByIdIn(coursePath.getTopics())){
+                if(topic.getTags() != null){
+                    for(String tag : topic.getTags()){
+                        if(tag != null && !tag.isBlank()){
+                            tags.add(tag.trim().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(coursePath.getId())),
+                new Update().set("tags", new ArrayList<>(tags)), CoursePathEntity.class);
+        coursePath.setTags(new ArrayList<>(tags));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.common.search.SearchHit;
+import com.example.skillmateai.common.search.TrigramIndex;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.TopicEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant search over course path titles and the names of their topics, backed by a
+ * {@link TrigramIndex}. Title words weigh 1, topic name words weigh {@code app.search.fuzzyTopicWeight},
+ * and a misspelled word matches an indexed one when their trigram similarity reaches
+ * {@code app.search.fuzzyThreshold}. Kept in sync the same way as {@link CoursePathSearchIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathFuzzyIndex implements MetricsReporter {
+
+    private final CoursePathRepository coursePathRepository;
+    private final TopicRepository topicRepository;
+
+    @Value("${app.search.fuzzyThreshold:0.4}")
+    private double threshold;
+
+    @Value("${app.search.fuzzyTopicWeight:0.5}")
+    private double topicWeight;
+
+    private final TrigramIndex index = new TrigramIndex();
+    private final LatencyHistogram searchLatency = new LatencyHistogram(TimeUnit.MICROSECONDS);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex(){
+        try {
+            long startedAt = System.currentTimeMillis();
+            Map<String, String> topicNames = new HashMap<>();
+            for(TopicEntity topic : topicRepository.findAllNames()){
+                topicNames.put(topic.getId(), topic.getName());
+            }
+            for(CoursePathEntity coursePath : coursePathRepository.findAllFuzzyKeys()){
+                add(coursePath, topicNames);
+            }
+            log.info("Indexed {} course paths ({} words) for fuzzy search in {} ms",
+                    index.size(), index.vocabularySize(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e){
+            log.error("Unexpected error loading fuzzy search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(0) // before SearchResultCache drops the affected results
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        try {
+            CoursePathEntity coursePath = event.getCoursePath();
+            Map<String, String> topicNames = new HashMap<>();
+            if(coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()){
+                for(TopicEntity topic : topicRepository.findNamesByIdIn(coursePath.getTopics())){
+                    topicNames.put(topic.getId(), topic.getName());
+                }
+            }
+            add(coursePath, topicNames);
+        } catch (Exception e){
+            log.error("Unexpected error indexing course path for fuzzy search: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(0) // before SearchResultCache drops the affected results
+    public void onCoursePathDeleted(CoursePathDeletedEvent event){
+        index.remove(event.getCoursePathId());
+    }
+
+    public List<SearchHit> search(String query, int limit, SearchHit after){
+        long startedAt = System.nanoTime();
+        List<SearchHit> hits = index.search(CoursePathSearchIndex.tokenize(query), threshold, limit, after);
+        searchLatency.recordSince(startedAt);
+        return hits;
+    }
+
+    private void add(CoursePathEntity coursePath, Map<String, String> topicNames){
+        if(coursePath.getId() == null){
+            return;
+        }
+        Map<String, Double> words = new HashMap<>();
+        if(coursePath.getTopics() != null){
+            for(String topicId : coursePath.getTopics()){
+                for(String word : CoursePathSearchIndex.tokenize(topicNames.get(topicId))){
+                    words.merge(word, topicWeight, Math::max);
+                }
+            }
+        }
+        for(String word : CoursePathSearchIndex.tokenize(coursePath.getTitle())){
+            words.merge(word, 1.0, Math::max);
+        }
+        index.put(coursePath.getId(), words);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "coursePathFuzzyIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("documents", index.size());
+        metrics.put("words", index.vocabularySize());
+        metrics.put("searchLatency", searchLatency.snapshot());
+        return metrics;
+    }
+}
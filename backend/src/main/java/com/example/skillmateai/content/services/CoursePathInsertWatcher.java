@@ -0,0 +1,85 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.repositories.CourseGenerationJobRepository;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects course paths inserted into content_coursePath (normally by the AI analyzer, which writes
+ * straight to MongoDB) and publishes a {@link CoursePathCreatedEvent} for each of them.
+ * Polls on createdAt so it also works against a standalone MongoDB without change streams.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathInsertWatcher {
+
+    private final CoursePathRepository coursePathRepository;
+    private final CourseGenerationJobRepository courseGenerationJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The analyzer stamps createdAt with its own clock before inserting, so every poll looks back this far
+    @Value("${aiAnalyzer.clockSkewMillis:60000}")
+    private long clockSkewMillis;
+
+    // Largest createdAt seen so far; every poll re-reads the skew window below it
+    private long watermark = -1;
+    // Ids already published with their createdAt, pruned once they fall out of the window
+    private final Map<String, Long> recentlySeen = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${aiAnalyzer.insertPollMillis:2000}")
+    public synchronized void pollForNewCoursePaths() {
+        try {
+            if (watermark < 0) {
+                watermark = initialWatermark();
+            }
+
+            // createdAt is stamped before the insert and the analyzer inserts from concurrent tasks, so a
+            // course can become visible after a newer one; re-reading the window below the watermark catches it
+            long windowStart = watermark - clockSkewMillis;
+            List<CoursePathEntity> created = coursePathRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(windowStart);
+            for (CoursePathEntity coursePath : created) {
+                if (recentlySeen.putIfAbsent(coursePath.getId(), coursePath.getCreatedAt()) != null) {
+                    continue;
+                }
+                watermark = Math.max(watermark, coursePath.getCreatedAt());
+                publish(coursePath);
+            }
+            long pruneBefore = watermark - clockSkewMillis;
+            recentlySeen.values().removeIf(createdAt -> createdAt < pruneBefore);
+        } catch (Exception e) {
+            log.error("Unexpected error polling for new course paths: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publish(CoursePathEntity coursePath) {
+        try {
+            eventPublisher.publishEvent(new CoursePathCreatedEvent(this, coursePath));
+        } catch (Exception e) {
+            // One failing listener must not stop the watermark from moving on
+            log.error("Error handling new course path {}: {}", coursePath.getId(), e.getMessage(), e);
+        }
+    }
+
+    private long initialWatermark() {
+        // After a restart, start from the oldest job still waiting so courses written while we were down are not missed
+        long start = System.currentTimeMillis();
+        List<CourseGenerationJobEntity> activeJobs = courseGenerationJobRepository.findByStatusIn(CourseGenerationJobService.ACTIVE_STATUSES);
+        for (CourseGenerationJobEntity job : activeJobs) {
+            start = Math.min(start, job.getCreatedAt());
+        }
+        return start;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of existing course paths by normalized subject tokens and target level, used to offer an
+ * equivalent course instead of generating a new one. Courses that store their subject are indexed by it;
+ * older courses fall back to their title with filler words removed.
+ * <p>
+ * A course matches a request when it has the same level, contains every token of the requested subject and
+ * the token sets overlap by at least {@code aiAnalyzer.reuseMinSimilarity} (Jaccard).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathReuseIndex implements MetricsReporter {
+
+    // Words that describe the course rather than its subject, common in generated titles
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "for", "to", "in", "on", "with", "your", "from", "s",
+            "learning", "learn", "path", "course", "guide", "introduction", "intro", "complete", "mastering",
+            "master", "journey", "fundamentals", "basics", "beginner", "beginners", "intermediate", "advanced"
+    );
+
+    private record IndexedCourse(String id, String level, Set<String> tokens, long createdAt) {}
+
+    private final CoursePathRepository coursePathRepository;
+
+    @Value("${aiAnalyzer.reuseMinSimilarity:0.5}")
+    private double minSimilarity = 0.5;
+
+    // level -> token -> courses containing that token; guarded by this
+    private final Map<String, Map<String, Set<IndexedCourse>>> postingsByLevel = new HashMap<>();
+    private final Map<String, IndexedCourse> coursesById = new HashMap<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex(){
+        try {
+            int indexed = 0;
+            for(CoursePathEntity coursePath : coursePathRepository.findAllReuseKeys()){
+                if(add(coursePath)){
+                    indexed++;
+                }
+            }
+            log.info("Indexed {} course paths for reuse", indexed);
+        } catch (Exception e){
+            log.error("Unexpected error loading course reuse index: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        add(event.getCoursePath());
+    }
+
+    @EventListener
+    public void onCoursePathDeleted(CoursePathDeletedEvent event){
+        remove(event.getCoursePathId());
+    }
+
+    /**
+     * Returns the id of the closest equivalent course path, newest first on ties.
+     */
+    public synchronized Optional<String> findEquivalent(String subject, String difficulty){
+        lookups.incrementAndGet();
+        Set<String> requested = tokenize(subject);
+        Map<String, Set<IndexedCourse>> postings = postingsByLevel.get(normalizeLevel(difficulty));
+        if(requested.isEmpty() || postings == null){
+            return Optional.empty();
+        }
+
+        // Start from the rarest token so the candidate set is as small as possible
+        Set<IndexedCourse> candidates = null;
+        for(String token : requested){
+            Set<IndexedCourse> courses = postings.get(token);
+            if(courses == null){
+                return Optional.empty();
+            }
+            if(candidates == null || courses.size() < candidates.size()){
+                candidates = courses;
+            }
+        }
+
+        IndexedCourse best = null;
+        double bestScore = 0;
+        for(IndexedCourse course : candidates){
+            if(!course.tokens().containsAll(requested)){
+                continue;
+            }
+            double score = (double) requested.size() / course.tokens().size();
+            if(score >= minSimilarity && (score > bestScore || (score == bestScore && course.createdAt() > best.createdAt()))){
+                best = course;
+                bestScore = score;
+            }
+        }
+        if(best == null){
+            return Optional.empty();
+        }
+        matches.incrementAndGet();
+        return Optional.of(best.id());
+    }
+
+    public synchronized void remove(String coursePathId){
+        IndexedCourse course = coursesById.remove(coursePathId);
+        if(course == null){
+            return;
+        }
+        Map<String, Set<IndexedCourse>> postings = postingsByLevel.get(course.level());
+        for(String token : course.tokens()){
+            Set<IndexedCourse> courses = postings.get(token);
+            if(courses != null && courses.remove(course) && courses.isEmpty()){
+                postings.remove(token);
+            }
+        }
+    }
+
+    synchronized boolean add(CoursePathEntity coursePath){
+        if(coursePath.getId() == null || coursePath.getTargetLevel() == null){
+            return false;
+        }
+        String source = coursePath.getSubject() != null && !coursePath.getSubject().isBlank()
+                ? coursePath.getSubject() : coursePath.getTitle();
+        Set<String> tokens = tokenize(source);
+        if(tokens.isEmpty()){
+            return false;
+        }
+
+        remove(coursePath.getId());
+        IndexedCourse course = new IndexedCourse(coursePath.getId(), normalizeLevel(coursePath.getTargetLevel()), tokens, coursePath.getCreatedAt());
+        coursesById.put(course.id(), course);
+        Map<String, Set<IndexedCourse>> postings = postingsByLevel.computeIfAbsent(course.level(), level -> new HashMap<>());
+        for(String token : tokens){
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(course);
+        }
+        return true;
+    }
+
+    static Set<String> tokenize(String text){
+        if(text == null){
+            return Set.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+"))
+                .filter(token -> !token.isBlank() && !STOP_WORDS.contains(token))
+                .collect(Collectors.toSet());
+    }
+
+    private static String normalizeLevel(String level){
+        return level.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "coursePathReuseIndex";
+    }
+
+    @Override
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("courses", coursesById.size());
+        metrics.put("lookups", lookups.get());
+        metrics.put("matches", matches.get());
+        return metrics;
+    }
+}
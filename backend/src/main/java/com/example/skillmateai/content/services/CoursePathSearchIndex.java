@@ -0,0 +1,146 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.common.search.Bm25Index;
+import com.example.skillmateai.common.search.SearchHit;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text index over course path titles and descriptions, ranked with BM25. Title terms count
+ * {@code app.search.titleBoost} times so a title match outranks the same word in a description.
+ * The index is loaded once at startup and kept in sync through course path created/deleted events;
+ * MongoDB is only asked for the documents of the top hits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathSearchIndex implements MetricsReporter {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "for", "to", "in", "on", "with", "is", "are", "your", "you", "s"
+    );
+
+    private final CoursePathRepository coursePathRepository;
+
+    @Value("${app.search.titleBoost:3}")
+    private int titleBoost;
+
+    private final Bm25Index index = new Bm25Index();
+    private final LatencyHistogram searchLatency = new LatencyHistogram(TimeUnit.MICROSECONDS);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex(){
+        try {
+            long startedAt = System.currentTimeMillis();
+            for(CoursePathEntity coursePath : coursePathRepository.findAllSearchKeys()){
+                add(coursePath);
+            }
+            log.info("Indexed {} course paths for search in {} ms", index.size(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e){
+            log.error("Unexpected error loading course search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(0) // before SearchResultCache drops the affected results
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        add(event.getCoursePath());
+    }
+
+    @EventListener
+    @Order(0) // before SearchResultCache drops the affected results
+    public void onCoursePathDeleted(CoursePathDeletedEvent event){
+        index.remove(event.getCoursePathId());
+    }
+
+    /**
+     * Ids of the best matching course paths, best first.
+     * @param matchAll require every query term (AND) instead of any of them (OR)
+     * @param after last hit of the previous page, or null for the first page
+     */
+    public List<SearchHit> search(String query, boolean matchAll, int limit, SearchHit after){
+        long startedAt = System.nanoTime();
+        List<SearchHit> hits = index.search(tokenize(query), matchAll, limit, after);
+        searchLatency.recordSince(startedAt);
+        return hits;
+    }
+
+    /**
+     * Opaque page cursor holding the exact score and id of the last hit of a page.
+     */
+    public static String encodeCursor(SearchHit hit){
+        String raw = Long.toHexString(Double.doubleToLongBits(hit.score())) + ":" + hit.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encodeCursor}
+     */
+    public static SearchHit decodeCursor(String cursor){
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        if(separator <= 0 || separator == raw.length() - 1){
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+        return new SearchHit(raw.substring(separator + 1), score);
+    }
+
+    void add(CoursePathEntity coursePath){
+        if(coursePath.getId() == null){
+            return;
+        }
+        List<String> terms = new ArrayList<>();
+        List<String> titleTerms = tokenize(coursePath.getTitle());
+        for(int i = 0; i < titleTerms.size() * titleBoost; i++){
+            terms.add(titleTerms.get(i % titleTerms.size()));
+        }
+        terms.addAll(tokenize(coursePath.getDescription()));
+        index.put(coursePath.getId(), terms);
+    }
+
+    static List<String> tokenize(String text){
+        if(text == null){
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+"))
+                .filter(token -> !token.isBlank() && !STOP_WORDS.contains(token))
+                .toList();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "coursePathSearchIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("documents", index.size());
+        metrics.put("terms", index.termCount());
+        metrics.put("searchLatency", searchLatency.snapshot());
+        return metrics;
+    }
+}
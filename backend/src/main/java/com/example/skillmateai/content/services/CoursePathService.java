@@ -1,22 +1,26 @@
 package com.example.skillmateai.content.services;
 
+import com.example.skillmateai.common.search.CompletionTrie;
+import com.example.skillmateai.common.search.SearchHit;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
 import com.example.skillmateai.content.entities.CoursePathEntity;
 import com.example.skillmateai.content.entities.UserCourseProgressEntity;
 import com.example.skillmateai.content.entities.ProgressEntry;
-import com.example.skillmateai.content.entities.ReviewEntity;
+import com.example.skillmateai.content.entities.TopicEntity;
 import com.example.skillmateai.content.repositories.CoursePathRepository;
 import com.example.skillmateai.content.repositories.UserCourseProgressRepository;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
+import com.example.skillmateai.user.services.AuthenticatedUserDetails;
 import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -30,11 +34,19 @@ public class CoursePathService {
     private final UserCourseProgressRepository userCourseProgressRepository;
     private final GetAuthenticatedUserUtil getAuthenticatedUserUtil;
     private final UserRepository userRepository;
-
-    @Value("${aiAnalyzer.baseUrl}")
-    private String aiAnalyzerBaseUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final CourseGenerationJobService courseGenerationJobService;
+    private final CoursePathReuseIndex coursePathReuseIndex;
+    private final CourseGenerationStreamService courseGenerationStreamService;
+    private final CoursePathSearchIndex coursePathSearchIndex;
+    private final CoursePathFuzzyIndex coursePathFuzzyIndex;
+    private final ProgressService progressService;
+    private final CoursePathSuggestIndex coursePathSuggestIndex;
+    private final SearchResultCache searchResultCache;
+    private final ContentDocumentCache contentDocumentCache;
+    private final ReviewService reviewService;
+
+    @Value("${app.search.maxResults:50}")
+    private int searchMaxResults;
 
     // private Map<String,Object> callAnalyzer(String subject, String difficulty){
     //     Map<String, Object> requestBody = Map.of("subject", subject, "difficulty", difficulty.toLowerCase());
@@ -58,38 +70,6 @@ public class CoursePathService {
     //     return aiResponse;
     // }
 
-    private ResponseEntity<Map<String,Object>> callAnalyzer(String subject, String difficulty, String email){
-        Map<String, Object> requestBody = Map.of(
-                "subject", subject,
-                "difficulty", difficulty.toLowerCase(),
-                "email", email
-        );
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String,Object>> entity = new HttpEntity<>(requestBody, headers);
-        Map<String, Object> aiResponse;
-        try {
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.postForEntity(aiAnalyzerBaseUrl + "/api/v1/generate-course-path", entity, Map.class);
-            @SuppressWarnings("unchecked") Map<String,Object> body = response.getBody();
-            aiResponse = body;
-            // Propagate analyzer status (e.g., 202 ACCEPTED)
-            if(aiResponse == null){
-                log.error("AI analyzer returned null body with status: {}", response.getStatusCode());
-                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI Analyzer unreachable");
-            }
-            if(!(Boolean.TRUE.equals(aiResponse.get("success")))){
-                log.error("AI analyzer returned unsuccessful response: {}", aiResponse);
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to generate course path");
-            }
-            return ResponseEntity.status(response.getStatusCode()).body(aiResponse);
-        } catch (RestClientException e){
-            log.error("AI analyzer call failed: {}", e.getMessage());
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "AI Analyzer unreachable");
-        }
-        
-    }
-
     // public Map<String,Object> generateCoursePathNoAuth(String subject, String difficulty){
     //     if(subject == null || subject.isBlank() || difficulty == null || difficulty.isBlank()){
     //         throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Subject and difficulty are required");
@@ -193,7 +173,11 @@ public class CoursePathService {
     //     }
     // }
 
-    public ResponseEntity<Map<String,Object>> generateAndPersistCoursePath(String subject, String difficulty){
+    /**
+     * Records a generation job and hands it to the analyzer in the background; the caller gets the job right away
+     * and can follow it through {@link #getGenerationJob(String)}.
+     */
+    public CourseGenerationJobEntity generateAndPersistCoursePath(String subject, String difficulty){
         try {
             UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
             if(user == null){
@@ -203,7 +187,7 @@ public class CoursePathService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Subject and difficulty are required");
             }
 
-            ResponseEntity<Map<String,Object>> aiResponse = callAnalyzer(subject, difficulty, user.getEmail());
+            CourseGenerationJobEntity job = courseGenerationJobService.submit(user, subject, difficulty);
             // Map<String, Object> data = (Map<String, Object>) aiResponse.get("data");
             // if(data == null){
             //     throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Malformed AI response");
@@ -277,7 +261,7 @@ public class CoursePathService {
             // response.put("coursePath", coursePath);
             // response.put("topicsCount", topicEntities.size());
             // response.put("progressId", progress.getId());
-            return aiResponse;
+            return job;
         } catch (ResponseStatusException e){
             throw e; // bubble up for controller to format
         } catch (Exception e){
@@ -286,6 +270,63 @@ public class CoursePathService {
         }
     }
 
+    /**
+     * Looks for an existing course path equivalent to the requested subject and difficulty, so the user can
+     * enroll in it instead of waiting for a new one. Returns null when there is none. The course path comes from
+     * the shared document cache and must not be modified.
+     */
+    public CoursePathEntity findReusableCoursePath(String subject, String difficulty){
+        try {
+            if(subject == null || subject.isBlank() || difficulty == null || difficulty.isBlank()){
+                return null;
+            }
+            Optional<String> coursePathId = coursePathReuseIndex.findEquivalent(subject, difficulty);
+            if(coursePathId.isEmpty()){
+                return null;
+            }
+            CoursePathEntity coursePath = contentDocumentCache.findCoursePath(coursePathId.get()).orElse(null);
+            if(coursePath == null){
+                // Deleted since it was indexed
+                coursePathReuseIndex.remove(coursePathId.get());
+            }
+            return coursePath;
+        } catch (Exception e){
+            // Reuse is an optimization, fall back to generating
+            log.error("Unexpected error looking up reusable course path: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    public boolean isEnrolledInCoursePath(String coursePathId){
+        UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
+        return user != null && user.getEnrolledCoursePaths() != null && user.getEnrolledCoursePaths().contains(coursePathId);
+    }
+
+    public SseEmitter streamGenerationJob(String jobId){
+        CourseGenerationJobEntity job = getGenerationJob(jobId);
+        try {
+            return courseGenerationStreamService.open(job);
+        } catch (Exception e){
+            log.error("Unexpected error opening generation stream: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error opening generation stream");
+        }
+    }
+
+    public CourseGenerationJobEntity getGenerationJob(String jobId){
+        try {
+            AuthenticatedUserDetails principal = getAuthenticatedUserUtil.getAuthenticatedPrincipal();
+            if(principal == null){
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+            }
+            return courseGenerationJobService.getJobForUser(jobId, principal.getUserId());
+        } catch (ResponseStatusException e){
+            throw e;
+        } catch (Exception e){
+            log.error("Unexpected error fetching generation job: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching generation job");
+        }
+    }
+
     public Map<String,Object> getMyCoursePaths(){
         try {
             UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
@@ -295,17 +336,11 @@ public class CoursePathService {
             
             // Get created course paths
             List<String> createdCourseIds = user.getCreatedCoursePaths() != null ? user.getCreatedCoursePaths() : new ArrayList<>();
-            List<CoursePathEntity> createdCoursePaths = new ArrayList<>();
-            if(!createdCourseIds.isEmpty()){
-                createdCoursePaths = coursePathRepository.findAllById(createdCourseIds);
-            }
+            List<CoursePathSummary> createdCoursePaths = coursePathRepository.findSummariesByIdIn(createdCourseIds);
             
             // Get enrolled course paths  
             List<String> enrolledCourseIds = user.getEnrolledCoursePaths() != null ? user.getEnrolledCoursePaths() : new ArrayList<>();
-            List<CoursePathEntity> enrolledCoursePaths = new ArrayList<>();
-            if(!enrolledCourseIds.isEmpty()){
-                enrolledCoursePaths = coursePathRepository.findAllById(enrolledCourseIds);
-            }
+            List<CoursePathSummary> enrolledCoursePaths = coursePathRepository.findSummariesByIdIn(enrolledCourseIds);
             
             Map<String,Object> response = new HashMap<>();
             response.put("createdCoursePaths", createdCoursePaths);
@@ -360,6 +395,7 @@ public class CoursePathService {
             }
             user.getEnrolledCoursePaths().add(coursePathId);
             userRepository.save(user);
+            progressService.changeEnrollmentCount(coursePathId, 1);
             
             Map<String,Object> response = new HashMap<>();
             response.put("progressId", progress.getId());
@@ -436,52 +472,94 @@ public class CoursePathService {
     }
     */
 
-    // Search similar course paths by title using case-insensitive one-word match (OR across tokens)
-    public List<CoursePathEntity> searchSimilarCoursePaths(String query){
+    public record SearchPage(List<CoursePathSummary> coursePaths, String nextCursor) {}
+
+    /**
+     * One page of course paths matching the query, ranked by the in-memory BM25 index, or by trigram
+     * similarity of titles and topic names when {@code fuzzy} is set (matchAll does not apply then).
+     * Pass the previous page's nextCursor to continue; it is null on the last page.
+     */
+    public SearchPage searchSimilarCoursePaths(String query, boolean matchAll, boolean fuzzy, int limit, String cursor){
         try {
             if(query == null || query.isBlank()){
-                return new ArrayList<>();
+                return new SearchPage(new ArrayList<>(), null);
             }
-
-            // Clean and prepare tokens (alphanumeric words), case-insensitive
-            String cleanQuery = query.toLowerCase().replaceAll("[^a-zA-Z0-9\\s]", " ");
-            String[] rawTerms = cleanQuery.trim().split("\\s+");
-            List<String> terms = Arrays.stream(rawTerms)
-                    .filter(t -> t != null && !t.isBlank())
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if(terms.isEmpty()){
-                return new ArrayList<>();
+            if(limit < 1 || limit > searchMaxResults){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + searchMaxResults);
+            }
+            SearchHit after = null;
+            if(cursor != null && !cursor.isBlank()){
+                try {
+                    after = CoursePathSearchIndex.decodeCursor(cursor);
+                } catch (IllegalArgumentException e){
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+                }
             }
 
-            // Build a single regex that matches any token: .*(term1|term2|term3).*
-            // We already removed non-alphanumerics, so simple alternation is safe for Mongo regex
-            String alternation = String.join("|", terms);
-            String pattern = ".*(" + alternation + ").*";
-
-            List<CoursePathEntity> results = coursePathRepository.findByTitleRegex(pattern);
-
-            // Optional: sort by simple relevance = number of matched tokens in title
-            final List<String> tokens = terms;
-            results.sort((a, b) -> {
-                String at = a.getTitle() != null ? a.getTitle().toLowerCase() : "";
-                String bt = b.getTitle() != null ? b.getTitle().toLowerCase() : "";
-                long ac = tokens.stream().filter(at::contains).count();
-                long bc = tokens.stream().filter(bt::contains).count();
-                return Long.compare(bc, ac);
-            });
+            List<String> tokens = CoursePathSearchIndex.tokenize(query);
+            if(tokens.isEmpty()){
+                return new SearchPage(new ArrayList<>(), null);
+            }
+            String cacheKey = SearchResultCache.key(fuzzy, matchAll, tokens, limit, cursor);
+            SearchPage cached = searchResultCache.get(cacheKey);
+            if(cached != null){
+                return cached;
+            }
+            long generation = searchResultCache.generation();
+
+            // One extra hit tells whether another page exists
+            List<SearchHit> hits = fuzzy
+                    ? coursePathFuzzyIndex.search(query, limit + 1, after)
+                    : coursePathSearchIndex.search(query, matchAll, limit + 1, after);
+            String nextCursor = null;
+            if(hits.size() > limit){
+                hits = hits.subList(0, limit);
+                nextCursor = CoursePathSearchIndex.encodeCursor(hits.get(limit - 1));
+            }
+            if(hits.isEmpty()){
+                SearchPage empty = new SearchPage(new ArrayList<>(), null);
+                searchResultCache.put(cacheKey, fuzzy, tokens, empty, generation);
+                return empty;
+            }
 
-            // De-duplicate if needed and return
-            return results.stream().distinct().collect(Collectors.toList());
+            // Mongo only serves the projected fields of this page's hits; restore the ranking afterwards
+            Map<String, CoursePathSummary> byId = new HashMap<>();
+            for(CoursePathSummary coursePath : coursePathRepository.findSearchResultsByIdIn(hits.stream().map(SearchHit::id).toList())){
+                byId.put(coursePath.getId(), coursePath);
+            }
+            List<CoursePathSummary> results = new ArrayList<>();
+            for(SearchHit hit : hits){
+                CoursePathSummary coursePath = byId.get(hit.id());
+                if(coursePath != null){
+                    results.add(coursePath);
+                }
+            }
+            SearchPage page = new SearchPage(results, nextCursor);
+            searchResultCache.put(cacheKey, fuzzy, tokens, page, generation);
+            return page;
 
+        } catch (ResponseStatusException e){
+            throw e;
         } catch (Exception e){
             log.error("Unexpected error searching course paths: {}", e.getMessage(), e);
-            return new ArrayList<>();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error searching course paths");
         }
     }
     
 
+    public List<CompletionTrie.Completion> suggestCoursePaths(String prefix, int limit){
+        if(prefix == null || prefix.isBlank()){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefix is required");
+        }
+        if(prefix.length() > 100){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefix must be at most 100 characters");
+        }
+        if(limit < 1 || limit > coursePathSuggestIndex.getMaxSuggestions()){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + coursePathSuggestIndex.getMaxSuggestions());
+        }
+        return coursePathSuggestIndex.suggest(prefix, limit);
+    }
+
     public Map<String,Object> addReviewToCoursePath(String coursePathId, Integer rating, String comment){
         try {
             UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
@@ -493,44 +571,11 @@ public class CoursePathService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rating must be between 1 and 5");
             }
             
-            CoursePathEntity coursePath = coursePathRepository.findById(coursePathId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found"));
-            
-            // Check if user already reviewed
-            if(coursePath.getReviews() != null && coursePath.getReviews().stream()
-                    .anyMatch(review -> review.getReviewerId().equals(user.getId()))){
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "You have already reviewed this course path");
-            }
-            
-            // Create review
-            ReviewEntity review = ReviewEntity.builder()
-                    .reviewerId(user.getId())
-                    .reviewerName(user.getFirstName() + " " + (user.getLastName() != null ? user.getLastName() : ""))
-                    .rating(rating)
-                    .comment(comment != null ? comment : "")
-                    .reviewDate(System.currentTimeMillis())
-                    .build();
-            
-            // Add review to course path
-            if(coursePath.getReviews() == null){
-                coursePath.setReviews(new ArrayList<>());
+            if(!coursePathRepository.existsById(coursePathId)){
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found");
             }
-            coursePath.getReviews().add(review);
-            
-            // Calculate new average rating
-            double avgRating = coursePath.getReviews().stream()
-                    .mapToInt(ReviewEntity::getRating)
-                    .average()
-                    .orElse(0.0);
-            coursePath.setAverageRating(avgRating);
-            
-            coursePathRepository.save(coursePath);
-            
-            Map<String,Object> response = new HashMap<>();
-            response.put("review", review);
-            response.put("newAverageRating", avgRating);
-            response.put("totalReviews", coursePath.getReviews().size());
-            return response;
+
+            return reviewService.addReview(coursePathId, user, rating, comment);
         } catch (ResponseStatusException e){
             throw e;
         } catch (Exception e){
@@ -539,14 +584,49 @@ public class CoursePathService {
         }
     }
 
+    public ReviewService.ReviewPage getReviews(String coursePathId, int limit, String cursor){
+        return reviewService.getReviews(coursePathId, limit, cursor);
+    }
+
+    public record CoursePathDetail(CoursePathEntity coursePath, List<TopicEntity> topics, UserCourseProgressEntity progress) {}
+
+    /**
+     * Loads everything needed to open a course path: the course, its topics in course order (one $in query
+     * for the uncached ones) and the caller's progress, which is null when they are not enrolled.
+     */
+    public CoursePathDetail getCoursePathDetail(String coursePathId){
+        try {
+            AuthenticatedUserDetails principal = getAuthenticatedUserUtil.getAuthenticatedPrincipal();
+            if(principal == null){
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+            }
+
+            CoursePathEntity coursePath = contentDocumentCache.findCoursePath(coursePathId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found"));
+            List<TopicEntity> topics = coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()
+                    ? contentDocumentCache.findTopics(coursePath.getTopics())
+                    : new ArrayList<>();
+            UserCourseProgressEntity progress = userCourseProgressRepository
+                    .findByUserIdAndCoursePathId(principal.getUserId(), coursePathId)
+                    .orElse(null);
+            return new CoursePathDetail(coursePath, topics, progress);
+        } catch (ResponseStatusException e){
+            throw e;
+        } catch (Exception e){
+            log.error("Unexpected error fetching course path detail: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching course path detail");
+        }
+    }
+
     public CoursePathEntity getCoursePathById(String coursePathId){
         try {
-            UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
-            if(user == null){
+            // Only checks that someone is signed in, so the user document is not loaded
+            AuthenticatedUserDetails principal = getAuthenticatedUserUtil.getAuthenticatedPrincipal();
+            if(principal == null){
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
             }
             
-            Optional<CoursePathEntity> coursePathOpt = coursePathRepository.findById(coursePathId);
+            Optional<CoursePathEntity> coursePathOpt = contentDocumentCache.findCoursePath(coursePathId);
             if(coursePathOpt.isEmpty()){
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found");
             }
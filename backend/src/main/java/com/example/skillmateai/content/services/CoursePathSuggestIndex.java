@@ -0,0 +1,244 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.common.search.CompletionTrie;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.TopicEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
+import com.example.skillmateai.content.events.CoursePathEnrollmentChangedEvent;
+import com.example.skillmateai.content.events.CoursePathRatingChangedEvent;
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete over course titles and popular topic tags. Titles are reachable from the start of each of
+ * their first words ("prog" finds "Python Programming") and rank by enrollment count, with the average rating
+ * breaking ties. Tags rank by how many course paths use them and are only offered once at least
+ * {@code app.search.suggestMinTagCourses} do. Kept in sync through the course path, enrollment and rating events.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoursePathSuggestIndex implements MetricsReporter {
+
+    public static final String COURSE_PREFIX = "course:";
+    public static final String TAG_PREFIX = "tag:";
+
+    private static final int MAX_WORD_STARTS = 6;
+
+    private final CoursePathRepository coursePathRepository;
+    private final TopicRepository topicRepository;
+    private final ProgressService progressService;
+
+    @Value("${app.search.suggestCacheSize:10}")
+    private int cacheSize = 10;
+
+    @Value("${app.search.suggestMinTagCourses:2}")
+    private int minTagCourses = 2;
+
+    private CompletionTrie trie;
+    private final LatencyHistogram lookupLatency = new LatencyHistogram(TimeUnit.MICROSECONDS);
+
+    // Ranking inputs, guarded by this
+    private final Map<String, Double> ratingsByCourse = new HashMap<>();
+    private final Map<String, Long> enrollmentsByCourse = new HashMap<>();
+    private final Map<String, Set<String>> tagsByCourse = new HashMap<>();
+    private final Map<String, Integer> tagCourseCounts = new HashMap<>();
+    private final Map<String, String> tagTexts = new HashMap<>();
+
+    @PostConstruct
+    void initTrie(){
+        trie = new CompletionTrie(cacheSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex(){
+        try {
+            long startedAt = System.currentTimeMillis();
+            progressService.backfillEnrollmentCounts();
+
+            Map<String, List<String>> tagsByTopic = new HashMap<>();
+            for(TopicEntity topic : topicRepository.findAllTags()){
+                if(topic.getTags() != null && !topic.getTags().isEmpty()){
+                    tagsByTopic.put(topic.getId(), topic.getTags());
+                }
+            }
+            for(CoursePathEntity coursePath : coursePathRepository.findAllSuggestKeys()){
+                add(coursePath, tagsByTopic);
+            }
+            log.info("Indexed {} suggestions in {} trie nodes in {} ms", trie.size(), trie.nodeCount(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e){
+            log.error("Unexpected error loading suggestion index: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onCoursePathCreated(CoursePathCreatedEvent event){
+        try {
+            CoursePathEntity coursePath = event.getCoursePath();
+            Map<String, List<String>> tagsByTopic = new HashMap<>();
+            if(coursePath.getTopics() != null && !coursePath.getTopics().isEmpty()){
+                for(TopicEntity topic : topicRepository.findTagsByIdIn(coursePath.getTopics())){
+                    if(topic.getTags() != null){
+                        tagsByTopic.put(topic.getId(), topic.getTags());
+                    }
+                }
+            }
+            add(coursePath, tagsByTopic);
+        } catch (Exception e){
+            log.error("Unexpected error indexing course path suggestions: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public synchronized void onCoursePathDeleted(CoursePathDeletedEvent event){
+        String coursePathId = event.getCoursePathId();
+        trie.remove(COURSE_PREFIX + coursePathId);
+        ratingsByCourse.remove(coursePathId);
+        enrollmentsByCourse.remove(coursePathId);
+        Set<String> tags = tagsByCourse.remove(coursePathId);
+        if(tags != null){
+            for(String tag : tags){
+                changeTagCount(tag, -1);
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onEnrollmentChanged(CoursePathEnrollmentChangedEvent event){
+        Double rating = ratingsByCourse.get(event.getCoursePathId());
+        if(rating != null){
+            enrollmentsByCourse.put(event.getCoursePathId(), event.getEnrollmentCount());
+            trie.updateWeight(COURSE_PREFIX + event.getCoursePathId(), courseWeight(event.getEnrollmentCount(), rating));
+        }
+    }
+
+    @EventListener
+    public synchronized void onRatingChanged(CoursePathRatingChangedEvent event){
+        Long enrollmentCount = enrollmentsByCourse.get(event.getCoursePathId());
+        if(enrollmentCount != null){
+            double rating = event.getAverageRating() != null ? event.getAverageRating() : 0.0;
+            ratingsByCourse.put(event.getCoursePathId(), rating);
+            trie.updateWeight(COURSE_PREFIX + event.getCoursePathId(), courseWeight(enrollmentCount, rating));
+        }
+    }
+
+    /**
+     * Best completions for what the user typed so far, at most {@code app.search.suggestCacheSize}.
+     */
+    public List<CompletionTrie.Completion> suggest(String prefix, int limit){
+        long startedAt = System.nanoTime();
+        List<CompletionTrie.Completion> completions = trie.complete(normalize(prefix), limit);
+        lookupLatency.recordSince(startedAt);
+        return completions;
+    }
+
+    public int getMaxSuggestions(){
+        return cacheSize;
+    }
+
+    private synchronized void add(CoursePathEntity coursePath, Map<String, List<String>> tagsByTopic){
+        if(coursePath.getId() == null || coursePath.getTitle() == null){
+            return;
+        }
+        double rating = coursePath.getAverageRating() != null ? coursePath.getAverageRating() : 0.0;
+        ratingsByCourse.put(coursePath.getId(), rating);
+        enrollmentsByCourse.put(coursePath.getId(), coursePath.getEnrollmentCount());
+        trie.put(COURSE_PREFIX + coursePath.getId(), coursePath.getTitle(),
+                courseWeight(coursePath.getEnrollmentCount(), rating), wordStarts(normalize(coursePath.getTitle())));
+
+        Set<String> tags = new HashSet<>();
+        if(coursePath.getTopics() != null){
+            for(String topicId : coursePath.getTopics()){
+                for(String tag : tagsByTopic.getOrDefault(topicId, List.of())){
+                    String key = normalize(tag);
+                    if(!key.isEmpty() && tags.add(key)){
+                        tagTexts.putIfAbsent(key, tag.trim());
+                    }
+                }
+            }
+        }
+        Set<String> previous = tagsByCourse.put(coursePath.getId(), tags);
+        for(String tag : tags){
+            if(previous == null || !previous.contains(tag)){
+                changeTagCount(tag, 1);
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void changeTagCount(String tag, int delta){
+        int count = tagCourseCounts.merge(tag, delta, Integer::sum);
+        if(count <= 0){
+            tagCourseCounts.remove(tag);
+            tagTexts.remove(tag);
+        }
+        if(count >= minTagCourses){
+            if(delta > 0 && count == minTagCourses){
+                trie.put(TAG_PREFIX + tag, tagTexts.get(tag), count, List.of(tag));
+            } else {
+                trie.updateWeight(TAG_PREFIX + tag, count);
+            }
+        } else {
+            trie.remove(TAG_PREFIX + tag);
+        }
+    }
+
+    private static double courseWeight(long enrollmentCount, double rating){
+        // Ratings are at most 5, so they only order courses with the same enrollment count
+        return enrollmentCount + rating / 10;
+    }
+
+    private static List<String> wordStarts(String normalizedTitle){
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        while(start < normalizedTitle.length() && keys.size() < MAX_WORD_STARTS){
+            keys.add(normalizedTitle.substring(start));
+            int space = normalizedTitle.indexOf(' ', start);
+            if(space < 0){
+                break;
+            }
+            start = space + 1;
+        }
+        return keys;
+    }
+
+    static String normalize(String text){
+        if(text == null){
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9+#]+", " ").trim();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "coursePathSuggestIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("suggestions", trie.size());
+        metrics.put("trieNodes", trie.nodeCount());
+        metrics.put("lookupLatency", lookupLatency.snapshot());
+        return metrics;
+    }
+}
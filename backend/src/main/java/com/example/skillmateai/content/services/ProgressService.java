@@ -1,16 +1,31 @@
 package com.example.skillmateai.content.services;
 
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.ProgressEntry;
 import com.example.skillmateai.content.entities.UserCourseProgressEntity;
+import com.example.skillmateai.content.events.CoursePathEnrollmentChangedEvent;
 import com.example.skillmateai.content.repositories.TopicRepository;
 import com.example.skillmateai.content.repositories.UserCourseProgressRepository;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
 import lombok.RequiredArgsConstructor;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,6 +34,8 @@ public class ProgressService {
     private final TopicRepository topicRepository;
     private final UserCourseProgressRepository userCourseProgressRepository;
     private final GetAuthenticatedUserUtil getAuthenticatedUserUtil;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserCourseProgressEntity getUserProgress(String coursePathId){
         try {
@@ -36,4 +53,69 @@ public class ProgressService {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching progress");
         }
     }
+
+    /**
+     * Enrolls a user in a course path they did not create themselves, e.g. when their generation job was
+     * coalesced into another user's. Does nothing for parts of the enrollment that already exist.
+     */
+    public void enrollUserInCoursePath(String userId, CoursePathEntity coursePath){
+        if(userCourseProgressRepository.findByUserIdAndCoursePathId(userId, coursePath.getId()).isEmpty()){
+            List<String> topicIds = coursePath.getTopics() != null ? coursePath.getTopics() : List.of();
+            List<ProgressEntry> progressEntries = topicIds.stream().map(topicId -> ProgressEntry.builder()
+                    .topicId(topicId)
+                    .isCovered(false)
+                    .lastUpdated(System.currentTimeMillis())
+                    .build()).collect(Collectors.toList());
+
+            userCourseProgressRepository.save(UserCourseProgressEntity.builder()
+                    .userId(userId)
+                    .coursePathId(coursePath.getId())
+                    .startedAt(System.currentTimeMillis())
+                    .readiness(0)
+                    .progress(progressEntries)
+                    .build());
+        }
+
+        // $addToSet instead of saving the whole user, which may be modified by a request at the same time
+        UpdateResult result = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().addToSet("enrolledCoursePaths", coursePath.getId()), UserEntity.class);
+        if(result.getModifiedCount() > 0){
+            changeEnrollmentCount(coursePath.getId(), 1);
+        }
+    }
+
+    /**
+     * Adjusts the stored enrollment count of a course path atomically and announces the new value.
+     */
+    public void changeEnrollmentCount(String coursePathId, long delta){
+        Query query = Query.query(Criteria.where("_id").is(coursePathId));
+        query.fields().include("enrollmentCount");
+        CoursePathEntity updated = mongoTemplate.findAndModify(query, new Update().inc("enrollmentCount", delta),
+                FindAndModifyOptions.options().returnNew(true), CoursePathEntity.class);
+        if(updated != null){
+            eventPublisher.publishEvent(new CoursePathEnrollmentChangedEvent(this, coursePathId, updated.getEnrollmentCount()));
+        }
+    }
+
+    /**
+     * Sets the enrollment count of course paths stored before it was maintained, from the users' enrolled lists.
+     * Only touches documents without the field, so running it again is harmless.
+     */
+    public void backfillEnrollmentCounts(){
+        Query missing = Query.query(Criteria.where("enrollmentCount").exists(false));
+        if(!mongoTemplate.exists(missing, CoursePathEntity.class)){
+            return;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("enrolledCoursePaths"),
+                Aggregation.group("enrolledCoursePaths").count().as("count"));
+        int updated = 0;
+        for(Document row : mongoTemplate.aggregate(aggregation, UserEntity.class, Document.class)){
+            Query query = Query.query(Criteria.where("_id").is(row.get("_id")).and("enrollmentCount").exists(false));
+            updated += (int) mongoTemplate.updateFirst(query, new Update().set("enrollmentCount", ((Number) row.get("count")).longValue()),
+                    CoursePathEntity.class).getModifiedCount();
+        }
+        updated += (int) mongoTemplate.updateMulti(missing, new Update().set("enrollmentCount", 0L), CoursePathEntity.class).getModifiedCount();
+        log.info("Backfilled enrollment counts of {} course paths", updated);
+    }
 }
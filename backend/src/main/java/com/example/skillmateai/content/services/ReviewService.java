@@ -0,0 +1,202 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.entities.ReviewEntity;
+import com.example.skillmateai.content.events.CoursePathRatingChangedEvent;
+import com.example.skillmateai.content.repositories.ReviewRepository;
+import com.example.skillmateai.user.entities.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reviews are stored one per document in content_review. The course path only keeps reviewCount and
+ * ratingSum, updated with $inc, and the averageRating derived from them, so adding a review never rewrites
+ * the course document and reading a course never loads its reviews.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewService {
+
+    private final ReviewRepository reviewRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ContentDocumentCache contentDocumentCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.reviews.maxLimit:50}")
+    private int maxLimit;
+
+    public record ReviewPage(List<ReviewEntity> reviews, String nextCursor) {}
+
+    /**
+     * Moves reviews still embedded in course path documents into content_review. Safe to rerun: reviews are
+     * upserted per reviewer and the counters are recomputed from the collection before the array is dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedReviews(){
+        try {
+            Query embedded = Query.query(Criteria.where("reviews").exists(true));
+            embedded.fields().include("reviews");
+            int migrated = 0;
+            try (Stream<Document> coursePaths = mongoTemplate.stream(embedded, Document.class, mongoTemplate.getCollectionName(CoursePathEntity.class))) {
+                for (Document coursePath : (Iterable<Document>) coursePaths::iterator) {
+                    migrateCoursePath(coursePath.get("_id").toString(), coursePath.getList("reviews", Document.class));
+                    migrated++;
+                }
+            }
+            if(migrated > 0){
+                log.info("Moved embedded reviews of {} course paths to their own collection", migrated);
+            }
+        } catch (Exception e){
+            log.error("Unexpected error migrating embedded reviews: {}", e.getMessage(), e);
+        }
+    }
+
+    public Map<String,Object> addReview(String coursePathId, UserEntity user, int rating, String comment){
+        ReviewEntity review = ReviewEntity.builder()
+                .coursePathId(coursePathId)
+                .reviewerId(user.getId())
+                .reviewerName(user.getFirstName() + " " + (user.getLastName() != null ? user.getLastName() : ""))
+                .rating(rating)
+                .comment(comment != null ? comment : "")
+                .reviewDate(System.currentTimeMillis())
+                .build();
+        try {
+            review = reviewRepository.insert(review);
+        } catch (DuplicateKeyException e){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "You have already reviewed this course path");
+        }
+
+        Query query = Query.query(Criteria.where("_id").is(coursePathId));
+        query.fields().include("reviewCount", "ratingSum");
+        CoursePathEntity counters = mongoTemplate.findAndModify(query, new Update().inc("reviewCount", 1).inc("ratingSum", rating),
+                FindAndModifyOptions.options().returnNew(true), CoursePathEntity.class);
+        if(counters == null){
+            // The course path was deleted after the review was inserted
+            reviewRepository.delete(review);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found");
+        }
+        double averageRating = (double) counters.getRatingSum() / counters.getReviewCount();
+        // Counters only grow, so when reviews race the write guarded by the latest count is the one that lands
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(coursePathId).and("reviewCount").is(counters.getReviewCount())),
+                new Update().set("averageRating", averageRating), CoursePathEntity.class);
+        contentDocumentCache.invalidateCoursePath(coursePathId);
+        eventPublisher.publishEvent(new CoursePathRatingChangedEvent(this, coursePathId, averageRating));
+
+        Map<String,Object> response = new HashMap<>();
+        response.put("review", review);
+        response.put("newAverageRating", averageRating);
+        response.put("totalReviews", counters.getReviewCount());
+        return response;
+    }
+
+    public ReviewPage getReviews(String coursePathId, int limit, String cursor){
+        try {
+            if(limit < 1 || limit > maxLimit){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxLimit);
+            }
+            if(contentDocumentCache.findCoursePath(coursePathId).isEmpty()){
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course path not found");
+            }
+
+            // One extra review tells whether another page exists
+            List<ReviewEntity> reviews;
+            if(cursor == null || cursor.isBlank()){
+                reviews = reviewRepository.findPageByCoursePathId(coursePathId, Limit.of(limit + 1));
+            } else {
+                String[] parts;
+                long reviewDate;
+                try {
+                    parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+                    reviewDate = Long.parseLong(parts[0]);
+                } catch (IllegalArgumentException e){
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+                }
+                if(parts.length != 2 || parts[1].isEmpty()){
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+                }
+                reviews = reviewRepository.findPageByCoursePathIdAfter(coursePathId, reviewDate, parts[1], Limit.of(limit + 1));
+            }
+
+            String nextCursor = null;
+            if(reviews.size() > limit){
+                reviews = new ArrayList<>(reviews.subList(0, limit));
+                ReviewEntity last = reviews.get(limit - 1);
+                nextCursor = Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString((last.getReviewDate() + ":" + last.getId()).getBytes(StandardCharsets.UTF_8));
+            }
+            return new ReviewPage(reviews, nextCursor);
+
+        } catch (ResponseStatusException e){
+            throw e;
+        } catch (Exception e){
+            log.error("Unexpected error fetching reviews: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error fetching reviews");
+        }
+    }
+
+    public void deleteReviews(String coursePathId){
+        reviewRepository.deleteByCoursePathId(coursePathId);
+    }
+
+    private void migrateCoursePath(String coursePathId, List<Document> reviews){
+        if(reviews != null){
+            for(Document review : reviews){
+                String reviewerId = review.getString("reviewerId");
+                if(reviewerId == null){
+                    continue;
+                }
+                Number rating = review.get("rating", Number.class);
+                Number reviewDate = review.get("reviewDate", Number.class);
+                mongoTemplate.upsert(
+                        Query.query(Criteria.where("coursePathId").is(coursePathId).and("reviewerId").is(reviewerId)),
+                        new Update()
+                                .setOnInsert("reviewerName", review.getString("reviewerName"))
+                                .setOnInsert("rating", rating != null ? rating.intValue() : null)
+                                .setOnInsert("comment", review.getString("comment"))
+                                .setOnInsert("reviewDate", reviewDate != null ? reviewDate.longValue() : 0L),
+                        ReviewEntity.class);
+            }
+        }
+
+        Aggregation totals = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("coursePathId").is(coursePathId).and("rating").ne(null)),
+                Aggregation.group().count().as("count").sum("rating").as("sum"));
+        Document result = mongoTemplate.aggregate(totals, ReviewEntity.class, Document.class).getUniqueMappedResult();
+        long count = result != null ? result.get("count", Number.class).longValue() : 0;
+        long sum = result != null ? result.get("sum", Number.class).longValue() : 0;
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(coursePathId)),
+                new Update()
+                        .set("reviewCount", count)
+                        .set("ratingSum", sum)
+                        .set("averageRating", count > 0 ? (double) sum / count : null)
+                        .unset("reviews"),
+                CoursePathEntity.class);
+        contentDocumentCache.invalidateCoursePath(coursePathId);
+        eventPublisher.publishEvent(new CoursePathRatingChangedEvent(this, coursePathId, count > 0 ? (double) sum / count : null));
+    }
+}
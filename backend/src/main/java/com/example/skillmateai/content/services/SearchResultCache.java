@@ -0,0 +1,110 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.common.cache.BoundedLruCache;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.events.CoursePathDeletedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Caches search result pages by normalized query. Entries are dropped when a course path is written that
+ * could change them: an inserted course path whose title or description shares a token with a text query,
+ * any inserted course path for fuzzy queries (a misspelling can match any word), and a deleted course path
+ * that is on the cached page. A TTL bounds how long BM25 score drift from unrelated writes can linger.
+ * <p>
+ * Invalidation runs after the search indexes have applied the write, and every write bumps a generation
+ * so a search that read the index before the write cannot cache its older result afterwards.
+ */
+@Component
+@Slf4j
+public class SearchResultCache implements MetricsReporter {
+
+    // Listeners of the search indexes use a lower order so they apply a write before this drops entries
+    public static final int INVALIDATION_ORDER = 100;
+
+    private record CachedPage(CoursePathService.SearchPage page, boolean fuzzy, Set<String> tokens, Set<String> ids) {}
+
+    @Value("${app.search.cacheSize:1000}")
+    private int maxEntries;
+
+    @Value("${app.search.cacheTtlSeconds:300}")
+    private long ttlSeconds;
+
+    private BoundedLruCache<String, CachedPage> cache;
+    private long generation; // guarded by this
+
+    @PostConstruct
+    void initCache() {
+        cache = new BoundedLruCache<>(maxEntries);
+    }
+
+    public static String key(boolean fuzzy, boolean matchAll, List<String> tokens, int limit, String cursor) {
+        // Token order does not change the results, so "learning machine" shares an entry with "machine learning"
+        return (fuzzy ? "fuzzy" : matchAll ? "all" : "any") + "|" + String.join(" ", new TreeSet<>(tokens))
+                + "|" + limit + "|" + (cursor == null ? "" : cursor);
+    }
+
+    public CoursePathService.SearchPage get(String key) {
+        CachedPage cached = cache.get(key);
+        return cached != null ? cached.page() : null;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches the page unless a course path was written since {@code readGeneration} was taken.
+     */
+    public synchronized void put(String key, boolean fuzzy, List<String> tokens, CoursePathService.SearchPage page, long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        Set<String> ids = page.coursePaths().stream().map(CoursePathSummary::getId).collect(Collectors.toSet());
+        cache.put(key, new CachedPage(page, fuzzy, new HashSet<>(tokens), ids), System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    @EventListener
+    @Order(INVALIDATION_ORDER)
+    public synchronized void onCoursePathCreated(CoursePathCreatedEvent event) {
+        generation++;
+        CoursePathEntity coursePath = event.getCoursePath();
+        Set<String> written = new HashSet<>(CoursePathSearchIndex.tokenize(coursePath.getTitle()));
+        written.addAll(CoursePathSearchIndex.tokenize(coursePath.getDescription()));
+        int removed = cache.invalidateIf((key, cached) -> cached.fuzzy() || cached.tokens().stream().anyMatch(written::contains));
+        if (removed > 0) {
+            log.debug("Course path {} invalidated {} cached searches", coursePath.getId(), removed);
+        }
+    }
+
+    @EventListener
+    @Order(INVALIDATION_ORDER)
+    public synchronized void onCoursePathDeleted(CoursePathDeletedEvent event) {
+        generation++;
+        cache.invalidateIf((key, cached) -> cached.ids().contains(event.getCoursePathId()));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "searchResultCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        return cache.stats();
+    }
+}
@@ -4,7 +4,6 @@ import com.example.skillmateai.content.entities.ProgressEntry;
 import com.example.skillmateai.content.entities.TopicEntity;
 import com.example.skillmateai.content.entities.UserCourseProgressEntity;
 import com.example.skillmateai.content.repositories.CoursePathRepository;
-import com.example.skillmateai.content.repositories.TopicRepository;
 import com.example.skillmateai.content.repositories.UserCourseProgressRepository;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
@@ -23,13 +22,13 @@ import java.util.Map;
 @Slf4j
 public class TopicService {
 
-    private final TopicRepository topicRepository;
     private final UserCourseProgressRepository userCourseProgressRepository;
     private final GetAuthenticatedUserUtil getAuthenticatedUserUtil;
+    private final ContentDocumentCache contentDocumentCache;
 
     public TopicEntity getTopicById(String topicId){
         try {
-            return topicRepository.findById(topicId)
+            return contentDocumentCache.findTopic(topicId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic not found"));
         } catch (ResponseStatusException e){
             throw e;
@@ -1,7 +1,12 @@
 package com.example.skillmateai.content.utilities;
 
+import com.example.skillmateai.common.search.CompletionTrie;
+import com.example.skillmateai.content.dtos.CoursePathSummary;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
 import com.example.skillmateai.content.entities.CoursePathEntity;
-import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.content.entities.ReviewEntity;
+import com.example.skillmateai.content.services.CoursePathSuggestIndex;
+import com.example.skillmateai.user.services.AuthenticatedUserDetails;
 import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,14 +30,15 @@ public class CreateContentResponseUtil {
      * @return ResponseEntity with error message if user is not authenticated or verified, null if validation passes
      */
     public ResponseEntity<Map<String, Object>> validateUserVerification() {
-        UserEntity user = getAuthenticatedUserUtil.getAuthenticatedUser();
+        // Verification status comes from the request principal, no user document is needed here
+        AuthenticatedUserDetails principal = getAuthenticatedUserUtil.getAuthenticatedPrincipal();
         
-        if (user == null) {
+        if (principal == null) {
             return ResponseEntity.status(401)
                     .body(basic(false, "User not authenticated"));
         }
         
-        if (!user.isVerified()) {
+        if (!principal.isVerified()) {
             return ResponseEntity.status(403)
                     .body(basic(false, "User account is not verified. Please verify your email address"));
         }
@@ -80,10 +86,19 @@ public class CreateContentResponseUtil {
         }
     }
 
-    public List<Map<String,Object>> createCoursePathSummaryList(List<CoursePathEntity> coursePaths) {
+    public Map<String,Object> createCoursePathSummaryMap(CoursePathSummary coursePath) {
+        Map<String, Object> summaryMap = new HashMap<>();
+        summaryMap.put("id", coursePath.getId());
+        summaryMap.put("title", coursePath.getTitle());
+        summaryMap.put("description", coursePath.getDescription());
+        summaryMap.put("topicCount", coursePath.getTopicCount());
+        return summaryMap;
+    }
+
+    public List<Map<String,Object>> createCoursePathSummaryList(List<CoursePathSummary> coursePaths) {
         try {
             List<Map<String,Object>> summaryList = new ArrayList<>();
-            for(CoursePathEntity coursePath : coursePaths) {
+            for(CoursePathSummary coursePath : coursePaths) {
                 Map<String,Object> summary = createCoursePathSummaryMap(coursePath);
                 if(summary != null) {
                     summaryList.add(summary);
@@ -97,12 +112,12 @@ public class CreateContentResponseUtil {
         }
     }
 
-    public Map<String,Object> createCoursePathSearchResultMap(CoursePathEntity coursePath) {
+    public Map<String,Object> createCoursePathSearchResultMap(CoursePathSummary coursePath) {
         try {
             Map<String, Object> searchResultMap = new HashMap<>();
             searchResultMap.put("id", coursePath.getId());
             searchResultMap.put("title", coursePath.getTitle());
-            searchResultMap.put("topicCount", coursePath.getTopics() != null ? coursePath.getTopics().size() : 0);
+            searchResultMap.put("topicCount", coursePath.getTopicCount());
             searchResultMap.put("createdAt", coursePath.getCreatedAt());
             return searchResultMap;
 
@@ -112,10 +127,10 @@ public class CreateContentResponseUtil {
         }
     }
 
-    public List<Map<String,Object>> createCoursePathSearchResultList(List<CoursePathEntity> coursePaths) {
+    public List<Map<String,Object>> createCoursePathSearchResultList(List<CoursePathSummary> coursePaths) {
         try {
             List<Map<String,Object>> searchResultList = new ArrayList<>();
-            for(CoursePathEntity coursePath : coursePaths) {
+            for(CoursePathSummary coursePath : coursePaths) {
                 Map<String,Object> searchResult = createCoursePathSearchResultMap(coursePath);
                 if(searchResult != null) {
                     searchResultList.add(searchResult);
@@ -128,4 +143,82 @@ public class CreateContentResponseUtil {
             return new ArrayList<>();
         }
     }
+
+    public Map<String,Object> createCoursePathBrowseMap(CoursePathEntity coursePath) {
+        try {
+            Map<String, Object> browseMap = createCoursePathSummaryMap(coursePath);
+            browseMap.put("targetLevel", coursePath.getTargetLevel());
+            browseMap.put("averageRating", coursePath.getAverageRating());
+            browseMap.put("enrollmentCount", coursePath.getEnrollmentCount());
+            browseMap.put("createdAt", coursePath.getCreatedAt());
+            browseMap.put("tags", coursePath.getTags() != null ? coursePath.getTags() : new ArrayList<>());
+            return browseMap;
+
+        } catch (Exception e) {
+            log.error("Error creating course path browse map: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public List<Map<String,Object>> createCoursePathBrowseList(List<CoursePathEntity> coursePaths) {
+        List<Map<String,Object>> browseList = new ArrayList<>();
+        for(CoursePathEntity coursePath : coursePaths) {
+            Map<String,Object> browseMap = createCoursePathBrowseMap(coursePath);
+            if(browseMap != null) {
+                browseList.add(browseMap);
+            }
+        }
+        return browseList;
+    }
+
+    public Map<String,Object> createGenerationJobMap(CourseGenerationJobEntity job) {
+        try {
+            Map<String, Object> jobMap = new HashMap<>();
+            jobMap.put("jobId", job.getId());
+            jobMap.put("status", job.getStatus());
+            jobMap.put("subject", job.getSubject());
+            jobMap.put("difficulty", job.getDifficulty());
+            jobMap.put("coursePathId", job.getCoursePathId());
+            jobMap.put("message", job.getMessage());
+            jobMap.put("createdAt", job.getCreatedAt());
+            jobMap.put("updatedAt", job.getUpdatedAt());
+            jobMap.put("completedAt", job.getCompletedAt());
+            return jobMap;
+
+        } catch (Exception e) {
+            log.error("Error creating generation job map: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public List<Map<String,Object>> createReviewList(List<ReviewEntity> reviews) {
+        List<Map<String,Object>> reviewList = new ArrayList<>();
+        for(ReviewEntity review : reviews) {
+            Map<String, Object> reviewMap = new HashMap<>();
+            reviewMap.put("id", review.getId());
+            reviewMap.put("reviewerId", review.getReviewerId());
+            reviewMap.put("reviewerName", review.getReviewerName());
+            reviewMap.put("rating", review.getRating());
+            reviewMap.put("comment", review.getComment());
+            reviewMap.put("reviewDate", review.getReviewDate());
+            reviewList.add(reviewMap);
+        }
+        return reviewList;
+    }
+
+    public List<Map<String,Object>> createSuggestionList(List<CompletionTrie.Completion> completions) {
+        List<Map<String,Object>> suggestions = new ArrayList<>();
+        for(CompletionTrie.Completion completion : completions) {
+            Map<String, Object> suggestion = new HashMap<>();
+            suggestion.put("text", completion.text());
+            if(completion.id().startsWith(CoursePathSuggestIndex.COURSE_PREFIX)) {
+                suggestion.put("type", "course");
+                suggestion.put("coursePathId", completion.id().substring(CoursePathSuggestIndex.COURSE_PREFIX.length()));
+            } else {
+                suggestion.put("type", "tag");
+            }
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
 }
@@ -135,6 +135,14 @@ public class AuthenticationController {
                     ResponseEntity<Map<String,Object>> tokenResponse = jwtUtil.generateTokenAndUserInfoResponse(userLookup.getBody(), "Login successful");
                     return tokenResponse;
 
+                }catch (org.springframework.security.authentication.DisabledException e) {
+                    log.error(e.getMessage());
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                            .body(createResponseUtil.createResponseBody(false, "This account is disabled"));
+                }catch (org.springframework.security.authentication.LockedException e) {
+                    log.error(e.getMessage());
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                            .body(createResponseUtil.createResponseBody(false, "This account has been blocked"));
                 }catch (org.springframework.security.authentication.BadCredentialsException e) {
                     log.error(e.getMessage());
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -1,8 +1,11 @@
 package com.example.skillmateai.user.controllers.authentication;
 
 
+import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.user.services.UserService;
 import com.example.skillmateai.user.utilities.CreateResponseUtil;
 import com.example.skillmateai.user.utilities.JwtUtil;
+import com.example.skillmateai.user.utilities.VerifiedTokenCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,6 +25,12 @@ public class AuthenticationTokenController {
     @Autowired
     private CreateResponseUtil createResponseUtil;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @GetMapping("refresh")
     public ResponseEntity<Map> refreshToken(@RequestParam String refreshToken) {
 
@@ -34,7 +43,14 @@ public class AuthenticationTokenController {
 
             if(jwtUtil.validateToken(refreshToken, true)){
                 String email = jwtUtil.extractEmail(refreshToken, true);
-                String newJwt = jwtUtil.generateToken(email, false);
+
+                // The new access token carries the user's current roles and status, so load them here
+                ResponseEntity<UserEntity> userResponse = userService.findUser(email, "email");
+                if(!userResponse.getStatusCode().is2xxSuccessful() || userResponse.getBody() == null){
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(createResponseUtil.createResponseBody(false, "Refresh token is invalid or expired"));
+                }
+                String newJwt = jwtUtil.generateToken(userResponse.getBody(), false);
 
                 return ResponseEntity.ok(createResponseUtil.createResponseBody(true, "New JWT generated", "jwt", newJwt));
 
@@ -60,11 +76,11 @@ public class AuthenticationTokenController {
                         .body(createResponseUtil.createResponseBody(false, "Token is required"));
             }
 
-            if(jwtUtil.validateToken(token, false)){
+            if(verifiedTokenCache.validateToken(token, false)){
 
                 return ResponseEntity.ok(createResponseUtil.createResponseBody(true, "This a valid JWT"));
 
-            }else if(jwtUtil.validateToken(token, true)){
+            }else if(verifiedTokenCache.validateToken(token, true)){
 
                 return ResponseEntity.ok(createResponseUtil.createResponseBody(true, "This a valid Refresh Token"));
 
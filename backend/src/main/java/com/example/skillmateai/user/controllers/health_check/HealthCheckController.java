@@ -1,6 +1,7 @@
 package com.example.skillmateai.user.controllers.health_check;
 
 
+import com.example.skillmateai.content.services.AnalyzerClient;
 import com.example.skillmateai.user.utilities.CreateResponseUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +18,13 @@ public class HealthCheckController {
     @Autowired
     private CreateResponseUtil createResponseUtil;
 
+    @Autowired
+    private AnalyzerClient analyzerClient;
+
     @GetMapping("health-check")
     public ResponseEntity healthCheck() {
        try{
-           return ResponseEntity.ok().body(createResponseUtil.createResponseBody(true, "API is up and running"));
+           return ResponseEntity.ok().body(createResponseUtil.createResponseBody(true, "API is up and running", "aiAnalyzer", analyzerClient.getHealth()));
        }catch(Exception e){
            log.error(e.getMessage());
            return ResponseEntity.internalServerError()
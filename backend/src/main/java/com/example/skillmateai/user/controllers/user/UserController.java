@@ -7,6 +7,7 @@ import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.entities.UserVerificationEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
 import com.example.skillmateai.user.repositories.UserVerificationRepository;
+import com.example.skillmateai.user.services.TokenVersionService;
 import com.example.skillmateai.user.services.UserService;
 import com.example.skillmateai.user.utilities.CreateResponseUtil;
 import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
@@ -37,6 +38,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
 
 
     @GetMapping("info")
@@ -79,6 +83,7 @@ public class UserController {
 
 //            userVerificationRepository.deleteByUserEmail(authenticatedUser.getEmail());
             userRepository.deleteById(authenticatedUser.getId());
+            tokenVersionService.evict(authenticatedUser.getId());
             UserEntity userByEmail = userRepository.findByEmail(email).orElse(null);
 
 //            UserVerificationEntity userVerificationEntity = userVerificationRepository.findByUserEmail(authenticatedUser.getEmail()).orElse(null);
@@ -5,12 +5,15 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
 
 @Document(collection = "user")
+// Admin listing order, see UserRepository.findAdminInfoAfter
+@CompoundIndex(name = "admin_created", def = "{'createdAt': 1, '_id': 1}")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -44,6 +47,7 @@ public class UserEntity {
     private long createdAt;
     private long updatedAt;
     private ArrayList<String> roles;
+    private long tokenVersion; // Bumped when roles or status change so older access token claims stop being trusted
     private ArrayList<String> enrolledCoursePaths; // Course path IDs user has enrolled in
     private ArrayList<String> createdCoursePaths; // Course path IDs user has created
 
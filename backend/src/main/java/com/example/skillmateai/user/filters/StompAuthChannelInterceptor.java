@@ -0,0 +1,60 @@
+package com.example.skillmateai.user.filters;
+
+import com.example.skillmateai.user.utilities.TokenAuthenticator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions with the same bearer access token as the REST API. The token is sent in the
+ * Authorization header of the CONNECT frame, since browsers cannot set headers on the WebSocket handshake.
+ * Blocked accounts are rejected by the authenticator. Clients may only subscribe to their own user destinations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final TokenAuthenticator tokenAuthenticator;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
+            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+                throw new AccessDeniedException("Missing bearer token");
+            }
+            try {
+                UsernamePasswordAuthenticationToken auth = tokenAuthenticator.authenticate(authorizationHeader.substring(7));
+                accessor.setUser(auth);
+            } catch (AccessDeniedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("WebSocket authentication failed: {}", e.getMessage());
+                throw new AccessDeniedException("Authentication failed");
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) || StompCommand.SEND.equals(accessor.getCommand())) {
+            if (accessor.getUser() == null) {
+                throw new AccessDeniedException("Not authenticated");
+            }
+            String destination = accessor.getDestination();
+            if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && (destination == null || !destination.startsWith("/user/"))) {
+                throw new AccessDeniedException("Subscriptions are limited to /user destinations");
+            }
+        }
+        return message;
+    }
+}
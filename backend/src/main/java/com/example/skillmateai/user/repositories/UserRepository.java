@@ -2,15 +2,34 @@ package com.example.skillmateai.user.repositories;
 
 
 import com.example.skillmateai.user.entities.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends MongoRepository<UserEntity, String> {
     Optional<UserEntity> findByEmail(String email);
     List<UserEntity> findByEnrolledCoursePathsContaining(String coursePathId);
 
+    @Query(value = "{'_id': ?0}", fields = "{'tokenVersion': 1}")
+    Optional<UserEntity> findTokenVersionById(String id);
+
+    // Admin listing projections, paged and exported in creation order. Ids are generated strings, except for
+    // accounts saved without one (the catalog service account), which get ObjectIds; $gt only compares ids of
+    // the same BSON type, so _id only breaks ties between equal creation times.
+    @Query(value = "{}", fields = "{'email': 1, 'firstName': 1, 'lastName': 1, 'roles': 1, 'createdAt': 1}", sort = "{'createdAt': 1, '_id': 1}")
+    List<UserEntity> findAdminInfo(Limit limit);
+
+    @Query(value = "{$or: [{'createdAt': {$gt: ?0}}, {'createdAt': ?0, '_id': {$gt: ?1}}]}",
+            fields = "{'email': 1, 'firstName': 1, 'lastName': 1, 'roles': 1, 'createdAt': 1}", sort = "{'createdAt': 1, '_id': 1}")
+    List<UserEntity> findAdminInfoAfter(long afterCreatedAt, String afterId, Limit limit);
+
+    @Query(value = "{}", fields = "{'email': 1, 'firstName': 1, 'lastName': 1, 'roles': 1, 'createdAt': 1}", sort = "{'createdAt': 1, '_id': 1}")
+    Stream<UserEntity> streamAdminInfo();
+
 
 
 
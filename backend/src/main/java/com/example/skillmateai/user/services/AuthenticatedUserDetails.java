@@ -0,0 +1,82 @@
+package com.example.skillmateai.user.services;
+
+import com.example.skillmateai.user.entities.UserEntity;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Security principal that carries the user document it was loaded from, so the rest of the
+ * request can reuse it instead of reading the user collection again.
+ * When built from access token claims the document is not loaded up front; it is fetched on first use.
+ */
+@Getter
+public class AuthenticatedUserDetails implements UserDetails {
+
+    private final String userId;
+    private final String email;
+    private final boolean verified;
+    private final boolean blocked;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    @Setter
+    private UserEntity user;
+
+    public AuthenticatedUserDetails(UserEntity user) {
+        this(user.getId(), user.getEmail(), user.getRoles(), user.isVerified(), Boolean.TRUE.equals(user.getIsBlocked()), user.isAccountEnabled());
+        this.user = user;
+    }
+
+    private AuthenticatedUserDetails(String userId, String email, List<String> roles, boolean verified, boolean blocked, boolean enabled) {
+        this.userId = userId;
+        this.email = email;
+        this.verified = verified;
+        this.blocked = blocked;
+        this.enabled = enabled;
+        this.authorities = new ArrayList<>();
+        if (roles != null) {
+            for (String role : roles) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+        }
+    }
+
+    // JwtUtil only issues tokens for enabled accounts
+    public static AuthenticatedUserDetails fromClaims(String userId, String email, List<String> roles, boolean verified, boolean blocked) {
+        return new AuthenticatedUserDetails(userId, email, roles, verified, blocked, true);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return user != null ? user.getPassword() : null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    // Blocked users are rejected at login and for every access token, whether the principal came from claims or the database
+    @Override
+    public boolean isAccountNonLocked() {
+        return !blocked;
+    }
+
+    // Disabled accounts, such as the catalog pre-generation account, cannot sign in
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
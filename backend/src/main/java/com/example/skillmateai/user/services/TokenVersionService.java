@@ -0,0 +1,70 @@
+package com.example.skillmateai.user.services;
+
+import com.example.skillmateai.common.cache.BoundedLruCache;
+import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.user.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * Tracks the current token version of each user so JwtFilter can trust the claims signed into
+ * an access token without loading the user. Bumping the version makes every token issued
+ * before the change fall back to a database lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionService {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.jwt.tokenVersionCacheSeconds:60}")
+    private long cacheSeconds;
+
+    @Value("${app.jwt.tokenVersionCacheSize:10000}")
+    private int maxEntries;
+
+    // Entries expire after cacheSeconds so versions bumped on another instance are picked up
+    private BoundedLruCache<String, Long> versions;
+
+    @PostConstruct
+    void initCache() {
+        versions = new BoundedLruCache<>(maxEntries);
+    }
+
+    public boolean isCurrent(String userId, long tokenVersion) {
+        Long version = versions.get(userId);
+        if (version == null) {
+            // Only the version field is read, the rest of the user document stays on the server
+            version = userRepository.findTokenVersionById(userId)
+                    .map(UserEntity::getTokenVersion)
+                    .orElse(null);
+            if (version == null) {
+                return false;
+            }
+            versions.put(userId, version, System.currentTimeMillis() + cacheSeconds * 1000);
+        }
+        return version == tokenVersion;
+    }
+
+    /**
+     * Forgets the cached version of a deleted user so their tokens fall back to a lookup that fails.
+     */
+    public void evict(String userId) {
+        versions.invalidate(userId);
+    }
+
+    /**
+     * Increments the user's token version in place; the caller is responsible for saving the user.
+     */
+    public void bumpVersion(UserEntity user) {
+        long next = user.getTokenVersion() + 1;
+        user.setTokenVersion(next);
+        versions.put(user.getId(), next, System.currentTimeMillis() + cacheSeconds * 1000);
+        log.info("Token version for user {} bumped to {}", user.getId(), next);
+    }
+}
@@ -3,7 +3,6 @@ package com.example.skillmateai.user.services;
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,19 +16,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        UserEntity user = userRepository.findByEmail(email).get();
+        UserEntity user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found in database"));
 
-        if(user!=null){
-            UserDetails userDetails = User.builder()
-                    .username(user.getEmail())
-                    .password(user.getPassword())
-                    .roles(user.getRoles().toArray(new String[0]))
-                    .build();
-
-            return userDetails;
-        }
-
-        throw new UsernameNotFoundException("User not found in database");
+        // The principal keeps the loaded document so GetAuthenticatedUserUtil can reuse it for the rest of the request
+        return new AuthenticatedUserDetails(user);
 
     }
 }
@@ -31,6 +31,9 @@ public class UserVerificationService {
     @Autowired
     private CreateResponseUtil createResponseUtil;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     public UserVerificationEntity createUserVerificationEntity(String userEmail){
         UserVerificationEntity userVerificationEntity =
                 new UserVerificationEntity(GenerateAndValidateStringUtil.generateUniqueString(), userEmail, "", System.currentTimeMillis());
@@ -94,6 +97,7 @@ public class UserVerificationService {
 
                     if (!isForgotPasswordVerification) {
                         userEntity.setVerified(true);
+                        tokenVersionService.bumpVersion(userEntity);
                         userRepository.save(userEntity);
                         return ResponseEntity.ok().body(createResponseUtil.createResponseBody(true, responseMessage));
                     }
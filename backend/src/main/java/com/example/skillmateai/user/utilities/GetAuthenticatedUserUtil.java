@@ -2,6 +2,7 @@ package com.example.skillmateai.user.utilities;
 
 import com.example.skillmateai.user.entities.UserEntity;
 import com.example.skillmateai.user.repositories.UserRepository;
+import com.example.skillmateai.user.services.AuthenticatedUserDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -17,22 +18,49 @@ public class GetAuthenticatedUserUtil {
     @Autowired
     private UserRepository userRepository;
 
+    /**
+     * Returns the principal JwtFilter placed in the security context without touching the database.
+     * Use this when only the id, roles or verification status are needed.
+     */
+    public AuthenticatedUserDetails getAuthenticatedPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AuthenticatedUserDetails principal){
+            return principal;
+        }
+
+        UserEntity user = getAuthenticatedUser();
+        return user != null ? new AuthenticatedUserDetails(user) : null;
+    }
+
     public UserEntity getAuthenticatedUser() {
        try{
            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-           
+
            if(authentication == null || !authentication.isAuthenticated()){
                log.warn("No authentication found in security context");
                return null;
            }
-           
+
+           // JwtFilter already resolved the user for this request, reuse it instead of querying again
+           if(authentication.getPrincipal() instanceof AuthenticatedUserDetails principal){
+               if(principal.getUser() == null){
+                   // Principal was built from token claims, load the document once and keep it for the request
+                   userRepository.findById(principal.getUserId()).ifPresent(principal::setUser);
+               }
+               if(principal.getUser() == null){
+                   log.warn("User not found for authenticated id: {}", principal.getUserId());
+               }
+               return principal.getUser();
+           }
+
            String email = authentication.getName();
-           
+
            if(email == null || email.isEmpty()){
                log.warn("No email found in authentication principal");
                return null;
            }
-           
+
            Optional<UserEntity> user = userRepository.findByEmail(email);
            if(user.isPresent()) {
                return user.get();
@@ -45,4 +73,4 @@ public class GetAuthenticatedUserUtil {
            return null;
        }
     }
-}
\ No newline at end of file
+}
@@ -2,16 +2,20 @@ package com.example.skillmateai.user.utilities;
 
 import com.example.skillmateai.user.entities.UserEntity;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,31 +33,52 @@ public class JwtUtil {
     @Value("${app.refreshTokenKey}")
     private String refreshTokenSecretKey;
 
-
-
-    private SecretKey getSigningKey(boolean isRefresh) {
-        return isRefresh ? Keys.hmacShaKeyFor(refreshTokenSecretKey.getBytes()) : Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+    // When enabled, access tokens carry the user's id, roles and status so JwtFilter can skip the user lookup
+    @Value("${app.jwt.claimsEnabled:true}")
+    private boolean claimsEnabled;
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_VERIFIED = "isVerified";
+    public static final String CLAIM_BLOCKED = "isBlocked";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+
+    // Keys and parsers are immutable and thread-safe, so they are derived once instead of per call
+    private SecretKey accessSigningKey;
+    private SecretKey refreshSigningKey;
+    private JwtParser accessTokenParser;
+    private JwtParser refreshTokenParser;
+
+    @PostConstruct
+    void initSigningKeys() {
+        accessSigningKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes());
+        refreshSigningKey = Keys.hmacShaKeyFor(refreshTokenSecretKey.getBytes());
+        accessTokenParser = Jwts.parser().verifyWith(accessSigningKey).build();
+        refreshTokenParser = Jwts.parser().verifyWith(refreshSigningKey).build();
     }
 
-    public String extractEmail(String token, boolean isRefresh) {
-        Claims claims = extractAllClaims(token, isRefresh);
-        return claims.getSubject();
+    private SecretKey getSigningKey(boolean isRefresh) {
+        return isRefresh ? refreshSigningKey : accessSigningKey;
     }
 
-    public Date extractExpiration(String token, boolean isRefresh) {
-        return extractAllClaims(token, isRefresh).getExpiration();
+    /**
+     * Verifies the signature and expiration of the token once and returns its claims.
+     * Callers that need several values from the same token should use this instead of the extract methods.
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or not signed with the expected key
+     */
+    public Claims verifyToken(String token, boolean isRefresh) {
+        JwtParser parser = isRefresh ? refreshTokenParser : accessTokenParser;
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Claims extractAllClaims(String token, boolean isRefresh) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey(isRefresh))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String extractEmail(String token, boolean isRefresh) {
+        return verifyToken(token, isRefresh).getSubject();
     }
 
-    private Boolean isTokenExpired(String token, boolean isRefresh) {
-        return (Boolean) extractExpiration(token, isRefresh).before(new Date());
+    public Date extractExpiration(String token, boolean isRefresh) {
+        return verifyToken(token, isRefresh).getExpiration();
     }
 
     public String generateToken(String email, boolean isRefresh) throws Exception {
@@ -65,6 +90,26 @@ public class JwtUtil {
         return createToken(claims, email, isRefresh);
     }
 
+    public String generateToken(UserEntity user, boolean isRefresh) throws Exception {
+        if(user == null || user.getEmail() == null || user.getEmail().isEmpty()){
+            throw new IllegalArgumentException("User email cannot be null or empty");
+        }
+        // Principals built from the claims are trusted to be enabled
+        if(!user.isAccountEnabled()){
+            throw new DisabledException("User account is disabled");
+        }
+
+        Map<String, Object> claims = new HashMap<>();
+        if(!isRefresh && claimsEnabled){
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLES, user.getRoles() != null ? user.getRoles() : new ArrayList<>());
+            claims.put(CLAIM_VERIFIED, user.isVerified());
+            claims.put(CLAIM_BLOCKED, Boolean.TRUE.equals(user.getIsBlocked()));
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
+        return createToken(claims, user.getEmail(), isRefresh);
+    }
+
     private String createToken(Map<String, Object> claims, String subject, boolean isRefresh) throws Exception {
        try{
            long tokenLifetimeInMillis ;
@@ -97,8 +142,9 @@ public class JwtUtil {
         }
         
         try {
-            extractAllClaims(token, isRefresh); //this will throw error if jwt is not signed with the correct signing key
-            return (Boolean) !isTokenExpired(token, isRefresh);
+            // The parser rejects tokens that are not signed with the correct key or have already expired
+            verifyToken(token, isRefresh);
+            return true;
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
             return (Boolean) false;
@@ -116,8 +162,8 @@ public class JwtUtil {
                 message = "Operation successful";
             }
             
-            String jwt = generateToken(user.getEmail(), false);
-            String refreshToken = generateToken(user.getEmail(), true);
+            String jwt = generateToken(user, false);
+            String refreshToken = generateToken(user, true);
 
             if(jwt != null && refreshToken != null) {
 
@@ -0,0 +1,86 @@
+package com.example.skillmateai.user.utilities;
+
+import com.example.skillmateai.user.services.AuthenticatedUserDetails;
+import com.example.skillmateai.user.services.TokenVersionService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a bearer access token into an authentication, for the HTTP filter and the WebSocket CONNECT frame alike.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenAuthenticator {
+
+    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenVersionService tokenVersionService;
+
+    /**
+     * Verifies the access token and returns an authenticated token for its user.
+     * Throws ExpiredJwtException for expired tokens and other exceptions for invalid ones.
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String jwt) {
+        // Signature and expiration are checked once per token lifetime; an expired token throws ExpiredJwtException
+        Claims claims = verifiedTokenCache.verifyToken(jwt, false);
+        String email = claims.getSubject();
+        if (email == null) {
+            throw new BadCredentialsException("Token has no subject");
+        }
+
+        // Trust the signed claims when they are current, otherwise load the user as before
+        UserDetails userDetails = principalFromClaims(claims, email);
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(email);
+        }
+        if (!userDetails.isEnabled()) {
+            throw new DisabledException("User account is disabled");
+        }
+        if (!userDetails.isAccountNonLocked()) {
+            throw new LockedException("User account is blocked");
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    /**
+     * Builds the principal from the access token claims.
+     * Returns null for tokens issued without claims or before the user's last role/status change.
+     */
+    private UserDetails principalFromClaims(Claims claims, String email) {
+        String userId = claims.get(JwtUtil.CLAIM_USER_ID, String.class);
+        Number tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || tokenVersion == null) {
+            return null;
+        }
+        if (!tokenVersionService.isCurrent(userId, tokenVersion.longValue())) {
+            log.debug("Stale token claims for user {}, falling back to database lookup", userId);
+            return null;
+        }
+
+        List<String> roles = new ArrayList<>();
+        Object rolesClaim = claims.get(JwtUtil.CLAIM_ROLES);
+        if (rolesClaim instanceof List<?> list) {
+            for (Object role : list) {
+                roles.add(String.valueOf(role));
+            }
+        }
+        return AuthenticatedUserDetails.fromClaims(
+                userId,
+                email,
+                roles,
+                Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_VERIFIED, Boolean.class)),
+                Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_BLOCKED, Boolean.class)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.skillmateai.user.utilities;
+
+import com.example.skillmateai.common.cache.BoundedLruCache;
+import com.example.skillmateai.common.metrics.MetricsReporter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Remembers tokens that already passed signature verification, keyed by a SHA-256 digest of the token
+ * so raw tokens are never kept in memory. Entries expire together with the token and the least recently
+ * used ones are evicted once the cache is full. Invalid tokens are never cached.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MetricsReporter {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${app.jwt.verifiedTokenCacheSize:10000}")
+    private int maxEntries;
+
+    private BoundedLruCache<String, Claims> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = new BoundedLruCache<>(maxEntries);
+    }
+
+    /**
+     * Same contract as {@link JwtUtil#verifyToken(String, boolean)}, served from the cache when possible.
+     */
+    public Claims verifyToken(String token, boolean isRefresh) {
+        String key = cacheKey(token, isRefresh);
+        Claims claims = cache.get(key);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = jwtUtil.verifyToken(token, isRefresh);
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : System.currentTimeMillis();
+        cache.put(key, claims, expiresAt);
+        return claims;
+    }
+
+    public String extractEmail(String token, boolean isRefresh) {
+        return verifyToken(token, isRefresh).getSubject();
+    }
+
+    public Boolean validateToken(String token, boolean isRefresh) {
+        if(token == null || token.isEmpty()){
+            log.warn("Token validation failed: token is null or empty");
+            return false;
+        }
+
+        try {
+            verifyToken(token, isRefresh);
+            return true;
+        } catch (Exception e) {
+            log.error("Token validation failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "verifiedTokenCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        return cache.stats();
+    }
+
+    private String cacheKey(String token, boolean isRefresh) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return (isRefresh ? "r:" : "a:") + Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.skillmateai.admin.services;
+
+import com.example.skillmateai.content.repositories.CoursePathRepository;
+import com.example.skillmateai.content.repositories.TopicRepository;
+import com.example.skillmateai.content.repositories.UserCourseProgressRepository;
+import com.example.skillmateai.content.services.CatalogPregenerationService;
+import com.example.skillmateai.content.services.ContentDocumentCache;
+import com.example.skillmateai.content.services.ProgressService;
+import com.example.skillmateai.content.services.ReviewService;
+import com.example.skillmateai.user.entities.UserEntity;
+import com.example.skillmateai.user.repositories.UserRepository;
+import com.example.skillmateai.user.services.TokenVersionService;
+import com.example.skillmateai.user.utilities.GetAuthenticatedUserUtil;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AdminServiceTest {
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private AdminService service;
+
+    @BeforeEach
+    public void setUp() {
+        // Generated string ids, plus the catalog service account which was saved without one
+        users.add(user(new ObjectId().toHexString(), 1_000));
+        users.add(user("9f86d081884c7d659a2feaa0c55ad015", 2_000));
+        users.add(user("0b1c7a4e2f3d4c5b8a9e6f7d1c2b3a40", 2_000));
+        users.add(user("5d41402abc4b2a76b9719d911017c592", 3_000));
+        users.sort(Comparator.comparingLong(UserEntity::getCreatedAt).thenComparing(UserEntity::getId));
+
+        // Same order and seek as the repository queries
+        when(userRepository.findAdminInfo(any(Limit.class))).thenAnswer(invocation ->
+                users.stream().limit(invocation.<Limit>getArgument(0).max()).toList());
+        when(userRepository.findAdminInfoAfter(anyLong(), anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterCreatedAt = invocation.getArgument(0);
+            String afterId = invocation.getArgument(1);
+            return users.stream()
+                    .filter(user -> user.getCreatedAt() > afterCreatedAt
+                            || (user.getCreatedAt() == afterCreatedAt && user.getId().compareTo(afterId) > 0))
+                    .limit(invocation.<Limit>getArgument(2).max())
+                    .toList();
+        });
+
+        service = new AdminService(userRepository, mock(CoursePathRepository.class), mock(TopicRepository.class),
+                mock(UserCourseProgressRepository.class), mock(TokenVersionService.class), List.of(),
+                mock(CatalogPregenerationService.class), mock(ProgressService.class), mock(ContentDocumentCache.class),
+                mock(ReviewService.class), mock(GetAuthenticatedUserUtil.class), mock(ApplicationEventPublisher.class),
+                mock(MongoTemplate.class));
+        ReflectionTestUtils.setField(service, "maxPageSize", 200);
+    }
+
+    @Test
+    public void testUsersArePagedByCreationTimeThenId() {
+        AdminService.UserPage first = service.getUsers(2, null);
+        assertEquals(users.subList(0, 2), first.users());
+        assertNotNull(first.nextCursor());
+
+        // The cursor ends between two users created in the same millisecond
+        AdminService.UserPage second = service.getUsers(2, first.nextCursor());
+        assertEquals(users.subList(2, 4), second.users());
+        assertNull(second.nextCursor());
+        assertNull(second.totalCount());
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        for (String cursor : List.of("not base64!", "bm90LWEtbnVtYmVy", "MTIz")) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.getUsers(2, cursor));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+
+    private static UserEntity user(String id, long createdAt) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
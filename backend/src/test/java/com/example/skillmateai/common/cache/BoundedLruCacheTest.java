@@ -0,0 +1,73 @@
+package com.example.skillmateai.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedLruCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    public void testExpiredEntryIsMiss() {
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(10);
+        cache.put("expired", "x", System.currentTimeMillis() - 1);
+        cache.put("live", "y", System.currentTimeMillis() + 60_000);
+
+        assertNull(cache.get("expired"));
+        assertEquals("y", cache.get("live"));
+        assertEquals(1L, cache.stats().get("expirations"));
+        assertEquals(0.5, (double) cache.stats().get("hitRatio"), 0.0001);
+    }
+
+    @Test
+    public void testWeightBoundEvictsUntilUnderLimit() {
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(100, 10, String::length);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.put("c", "cccc");
+
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.size());
+
+        // Values heavier than the whole cache are skipped instead of flushing it
+        cache.put("huge", "x".repeat(11));
+        assertNull(cache.get("huge"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOversizedPutDropsPreviousValue() {
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(100, 10, String::length);
+        cache.put("a", "old");
+        cache.put("a", "x".repeat(11));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.stats().get("weight"));
+    }
+
+    @Test
+    public void testInvalidateIfRemovesMatchingEntries() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(10);
+        cache.put("one", 1);
+        cache.put("two", 2);
+        cache.put("three", 3);
+
+        assertEquals(2, cache.invalidateIf((key, value) -> value % 2 == 1));
+        assertEquals(Integer.valueOf(2), cache.get("two"));
+        assertNull(cache.get("one"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.skillmateai.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0L, histogram.snapshot().get("count"));
+    }
+
+    @Test
+    public void testPercentilesUseBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(15);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(400);
+        }
+
+        assertEquals(20, histogram.percentile(0.50));
+        // Capped by the observed max rather than the 500ms bucket bound
+        assertEquals(400, histogram.percentile(0.95));
+        assertEquals(100L, histogram.getCount());
+        assertEquals(400L, histogram.snapshot().get("maxMillis"));
+    }
+
+    @Test
+    public void testOpenEndedBucketReportsObservedMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(120_000);
+
+        assertEquals(120_000, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void testSnapshotKeysNameTheUnit() {
+        LatencyHistogram histogram = new LatencyHistogram(TimeUnit.MICROSECONDS);
+        histogram.record(150);
+
+        assertEquals(150L, histogram.snapshot().get("maxMicros"));
+        assertEquals(150L, histogram.snapshot().get("p99Micros"));
+        assertFalse(histogram.snapshot().containsKey("maxMillis"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.skillmateai.common.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FairShareQueueTest {
+
+    @Test
+    public void testWeightedRoundRobinAcrossKeys() {
+        FairShareQueue<String> queue = new FairShareQueue<>();
+        for (int i = 1; i <= 4; i++) {
+            queue.offer("admin", 2, 10, "a" + i);
+        }
+        queue.offer("user", 1, 10, "u1");
+        queue.offer("user", 1, 10, "u2");
+
+        List<String> order = new ArrayList<>();
+        String next;
+        while ((next = queue.poll()) != null) {
+            order.add(next);
+        }
+
+        assertEquals(List.of("a1", "a2", "u1", "a3", "a4", "u2"), order);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testHeavyKeyCannotStarveNewcomer() {
+        FairShareQueue<String> queue = new FairShareQueue<>();
+        for (int i = 1; i <= 5; i++) {
+            queue.offer("power", 1, 10, "p" + i);
+        }
+        assertEquals("p1", queue.poll());
+
+        queue.offer("casual", 1, 10, "c1");
+        assertEquals("p2", queue.poll());
+        assertEquals("c1", queue.poll());
+    }
+
+    @Test
+    public void testRejectsWhenKeyQueueIsFull() {
+        FairShareQueue<String> queue = new FairShareQueue<>();
+        assertTrue(queue.offer("u", 1, 2, "1"));
+        assertTrue(queue.offer("u", 1, 2, "2"));
+        assertFalse(queue.offer("u", 1, 2, "3"));
+        assertTrue(queue.offer("other", 1, 2, "x"));
+
+        assertEquals(2, queue.depth("u"));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void testRemovedItemsLeaveTheRotation() {
+        FairShareQueue<String> queue = new FairShareQueue<>();
+        queue.offer("u", 1, 10, "u1");
+        queue.offer("u", 1, 10, "u2");
+        queue.offer("v", 1, 10, "v1");
+
+        assertEquals(1, queue.removeIf("u", "u1"::equals));
+        assertEquals(0, queue.removeIf("missing", item -> true));
+        assertEquals(1, queue.depth("u"));
+        assertEquals(2, queue.size());
+
+        assertEquals(1, queue.removeIf("u", item -> true));
+        assertEquals(0, queue.depth("u"));
+        assertEquals(1, queue.keys());
+        assertEquals("v1", queue.poll());
+        assertNull(queue.poll());
+    }
+}
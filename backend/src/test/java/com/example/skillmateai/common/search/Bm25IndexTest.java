@@ -0,0 +1,95 @@
+package com.example.skillmateai.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Bm25IndexTest {
+
+    private Bm25Index sampleIndex() {
+        Bm25Index index = new Bm25Index();
+        index.put("python", List.of("python", "programming", "basics"));
+        index.put("java", List.of("java", "programming", "spring", "boot"));
+        index.put("ml", List.of("machine", "learning", "with", "python", "python"));
+        return index;
+    }
+
+    @Test
+    public void testOrQueryRanksRarerTermHigher() {
+        List<SearchHit> hits = sampleIndex().search(List.of("python", "spring"), false, 10);
+
+        assertEquals(3, hits.size());
+        // "spring" occurs in one document only, so its single match outweighs a common term
+        assertEquals("java", hits.get(0).id());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+    }
+
+    @Test
+    public void testAndQueryRequiresEveryTerm() {
+        Bm25Index index = sampleIndex();
+
+        List<SearchHit> hits = index.search(List.of("python", "programming"), true, 10);
+        assertEquals(1, hits.size());
+        assertEquals("python", hits.get(0).id());
+
+        assertTrue(index.search(List.of("python", "rust"), true, 10).isEmpty());
+    }
+
+    @Test
+    public void testLimitAndRemove() {
+        Bm25Index index = sampleIndex();
+        assertEquals(1, index.search(List.of("programming"), false, 1).size());
+
+        index.remove("java");
+        assertEquals(2, index.size());
+        assertTrue(index.search(List.of("spring"), false, 10).isEmpty());
+
+        // Replacing a document drops its old terms
+        index.put("python", List.of("snake"));
+        assertTrue(index.search(List.of("basics"), false, 10).isEmpty());
+        assertEquals("python", index.search(List.of("snake"), false, 10).get(0).id());
+    }
+
+    @Test
+    public void testPagesContinueAfterLastHit() {
+        Bm25Index index = new Bm25Index();
+        for (int i = 0; i < 7; i++) {
+            index.put("doc" + i, List.of("java", "topic" + i));
+        }
+
+        List<String> seen = new ArrayList<>();
+        SearchHit after = null;
+        while (true) {
+            List<SearchHit> page = index.search(List.of("java"), false, 3, after);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(hit -> seen.add(hit.id()));
+            after = page.get(page.size() - 1);
+        }
+
+        // Equal scores fall back to id order, so every document shows up exactly once
+        assertEquals(List.of("doc0", "doc1", "doc2", "doc3", "doc4", "doc5", "doc6"), seen);
+    }
+
+    @Test
+    public void testCommonTermsDoNotNominateCandidates() {
+        Bm25Index index = new Bm25Index();
+        for (int i = 0; i < Bm25Index.MIN_DOCUMENTS_FOR_COMMON_TERMS; i++) {
+            index.put("course" + i, List.of("subject" + i, "learning", "path"));
+        }
+        index.put("docker", List.of("docker", "learning", "path"));
+        index.put("docker-notes", List.of("docker"));
+
+        List<SearchHit> hits = index.search(List.of("docker", "learning", "path"), false, 10);
+        // Only documents with the rare term are candidates, the rest only shared "learning path"
+        assertEquals(Set.of("docker", "docker-notes"), hits.stream().map(SearchHit::id).collect(Collectors.toSet()));
+
+        assertEquals(10, index.search(List.of("learning", "path"), false, 10).size());
+    }
+}
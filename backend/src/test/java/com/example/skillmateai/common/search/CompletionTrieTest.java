@@ -0,0 +1,58 @@
+package com.example.skillmateai.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompletionTrieTest {
+
+    private static List<String> ids(List<CompletionTrie.Completion> completions) {
+        return completions.stream().map(CompletionTrie.Completion::id).toList();
+    }
+
+    @Test
+    public void testCompletesByWeightUnderEveryKey() {
+        CompletionTrie trie = new CompletionTrie(3);
+        trie.put("py", "Python Programming", 10, List.of("python programming", "programming"));
+        trie.put("pr", "Project Management", 20, List.of("project management", "management"));
+        trie.put("ja", "Java", 5, List.of("java"));
+
+        assertEquals(List.of("pr", "py"), ids(trie.complete("p", 10)));
+        assertEquals(List.of("py"), ids(trie.complete("prog", 10)));
+        assertEquals(List.of("pr"), ids(trie.complete("p", 1)));
+        assertTrue(trie.complete("rust", 10).isEmpty());
+    }
+
+    @Test
+    public void testCachedListKeepsOnlyBestEntries() {
+        CompletionTrie trie = new CompletionTrie(2);
+        for (int i = 0; i < 5; i++) {
+            trie.put("c" + i, "Course " + i, i, List.of("course " + i));
+        }
+
+        assertEquals(List.of("c4", "c3"), ids(trie.complete("course", 10)));
+
+        // Dropping a cached entry brings the next best one back from deeper nodes
+        trie.remove("c4");
+        assertEquals(List.of("c3", "c2"), ids(trie.complete("cou", 10)));
+    }
+
+    @Test
+    public void testWeightUpdateReranksAndRemovePrunes() {
+        CompletionTrie trie = new CompletionTrie(5);
+        trie.put("a", "Docker", 1, List.of("docker"));
+        trie.put("b", "Django", 2, List.of("django"));
+        long nodesBefore = trie.nodeCount();
+
+        trie.updateWeight("a", 3);
+        assertEquals(List.of("a", "b"), ids(trie.complete("d", 10)));
+        assertEquals(3, trie.complete("d", 10).get(0).weight());
+
+        trie.put("c", "Dart", 1, List.of("dart"));
+        trie.remove("c");
+        assertEquals(nodesBefore, trie.nodeCount());
+        assertEquals(2, trie.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.skillmateai.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    private TrigramIndex sampleIndex() {
+        TrigramIndex index = new TrigramIndex();
+        index.put("python", Map.of("python", 1.0, "programming", 1.0));
+        index.put("k8s", Map.of("kubernetes", 1.0, "deployments", 0.5));
+        index.put("pyramids", Map.of("pyramids", 1.0, "history", 1.0));
+        return index;
+    }
+
+    @Test
+    public void testMisspelledWordsFindTheirCourse() {
+        TrigramIndex index = sampleIndex();
+
+        List<SearchHit> hits = index.search(List.of("pyhton"), 0.4, 10, null);
+        assertEquals(1, hits.size());
+        assertEquals("python", hits.get(0).id());
+
+        assertEquals("k8s", index.search(List.of("kubernates"), 0.4, 10, null).get(0).id());
+        assertTrue(index.search(List.of("javascript"), 0.4, 10, null).isEmpty());
+    }
+
+    @Test
+    public void testWeightsAndMultipleWordsAddUp() {
+        TrigramIndex index = sampleIndex();
+        index.put("python-k8s", Map.of("python", 1.0, "kubernetes", 1.0));
+
+        List<SearchHit> hits = index.search(List.of("pyton", "kubernetes"), 0.4, 10, null);
+        assertEquals("python-k8s", hits.get(0).id());
+        // A topic-level match on "deployments" weighs half as much as a title match
+        SearchHit deployments = index.search(List.of("deployments"), 0.4, 10, null).get(0);
+        assertEquals(0.5, deployments.score(), 1e-9);
+    }
+
+    @Test
+    public void testRemoveDropsUnusedVocabulary() {
+        TrigramIndex index = sampleIndex();
+        int vocabulary = index.vocabularySize();
+
+        index.remove("pyramids");
+        assertEquals(vocabulary - 2, index.vocabularySize());
+        assertTrue(index.search(List.of("pyramid"), 0.4, 10, null).isEmpty());
+    }
+
+    @Test
+    public void testCommonWordsOnlyScoreNominatedDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < TrigramIndex.MIN_DOCUMENTS_FOR_COMMON_WORDS; i++) {
+            index.put("course" + i, Map.of("subject" + i, 1.0, "learning", 1.0));
+        }
+        index.put("docker", Map.of("docker", 1.0, "learning", 1.0));
+        index.put("docker-basics", Map.of("docker", 1.0));
+
+        List<SearchHit> hits = index.search(List.of("dokcer", "learning"), 0.3, 10, null);
+        assertEquals(List.of("docker", "docker-basics"), hits.stream().map(SearchHit::id).toList());
+
+        // With nothing rarer in the query the common word still finds documents
+        assertEquals(10, index.search(List.of("learning"), 0.4, 10, null).size());
+    }
+}
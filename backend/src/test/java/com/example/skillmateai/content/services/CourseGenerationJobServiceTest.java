@@ -0,0 +1,149 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity;
+import com.example.skillmateai.content.entities.CourseGenerationJobEntity.Status;
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import com.example.skillmateai.content.events.CoursePathCreatedEvent;
+import com.example.skillmateai.content.repositories.CourseGenerationJobRepository;
+import com.example.skillmateai.user.entities.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CourseGenerationJobServiceTest {
+
+    private final Map<String, CourseGenerationJobEntity> jobs = new HashMap<>();
+    private final List<String> analyzerCalls = new ArrayList<>();
+
+    private final CourseGenerationJobRepository repository = mock(CourseGenerationJobRepository.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+    private final AnalyzerClient analyzerClient = mock(AnalyzerClient.class);
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final ContentDocumentCache contentDocumentCache = mock(ContentDocumentCache.class);
+
+    private CourseGenerationJobService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            CourseGenerationJobEntity job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(UUID.randomUUID().toString());
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<String>getArgument(0))));
+        when(repository.findFirstByUserIdAndCoalesceKeyAndStatusIn(anyString(), anyString(), any())).thenReturn(Optional.empty());
+        when(repository.findByLeaderJobIdAndStatusIn(anyString(), any())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> invocation.getArgument(0).equals(job.getLeaderJobId()))
+                .filter(job -> invocation.<Collection<Status>>getArgument(1).contains(job.getStatus()))
+                .toList());
+        when(repository.findFirstByAnalyzerRequestId(anyString())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> invocation.getArgument(0).equals(job.getAnalyzerRequestId()))
+                .findFirst());
+
+        // Dispatch runs inline so the order of analyzer calls is the scheduling order
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(analyzerClient.isAvailable()).thenReturn(true);
+        when(analyzerClient.requestCoursePath(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            String subject = invocation.getArgument(0);
+            analyzerCalls.add(subject);
+            return Map.of("success", true, "requestId", "request-" + subject);
+        });
+
+        service = new CourseGenerationJobService(repository, executor, analyzerClient, progressService,
+                contentDocumentCache, mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "jobTimeoutMinutes", 30L);
+        ReflectionTestUtils.setField(service, "maxConcurrentJobs", 1);
+        ReflectionTestUtils.setField(service, "maxQueuedPerUser", 3);
+        ReflectionTestUtils.setField(service, "maxQueuedPerAdmin", 50);
+        ReflectionTestUtils.setField(service, "adminWeight", 2);
+    }
+
+    @Test
+    public void testIdenticalRequestsShareOneAnalyzerCall() {
+        CourseGenerationJobEntity leader = service.submit(user("u1", false), "Machine  Learning", "Beginner");
+        CourseGenerationJobEntity follower = service.submit(user("u2", false), "machine learning ", "beginner");
+
+        assertNull(leader.getLeaderJobId());
+        assertEquals(leader.getId(), follower.getLeaderJobId());
+        assertEquals(Status.SUBMITTED, follower.getStatus());
+        assertEquals(List.of("Machine  Learning"), analyzerCalls);
+
+        CoursePathEntity coursePath = CoursePathEntity.builder().id("course-1").generationRequestId("request-Machine  Learning").build();
+        service.onCoursePathCreated(new CoursePathCreatedEvent(this, coursePath));
+
+        assertEquals(Status.COMPLETED, jobs.get(leader.getId()).getStatus());
+        assertEquals(Status.COMPLETED, jobs.get(follower.getId()).getStatus());
+        assertEquals("course-1", jobs.get(follower.getId()).getCoursePathId());
+        verify(progressService).enrollUserInCoursePath("u2", coursePath);
+
+        // Once the leader is done the same request starts a new generation
+        assertNull(service.submit(user("u3", false), "Machine Learning", "beginner").getLeaderJobId());
+        assertEquals(2, analyzerCalls.size());
+    }
+
+    @Test
+    public void testQueuedLeadersAreServedByWeightedShare() {
+        service.submit(user("u", false), "s1", "beginner");
+        service.submit(user("u", false), "s2", "beginner");
+        service.submit(user("u", false), "s3", "beginner");
+        service.submit(user("a", true), "a1", "beginner");
+        service.submit(user("a", true), "a2", "beginner");
+        service.submit(user("a", true), "a3", "beginner");
+
+        for (int i = 0; i < 5; i++) {
+            String subject = analyzerCalls.get(analyzerCalls.size() - 1);
+            service.onCoursePathCreated(new CoursePathCreatedEvent(this,
+                    CoursePathEntity.builder().id("course-" + subject).generationRequestId("request-" + subject).build()));
+        }
+
+        assertEquals(List.of("s1", "s2", "a1", "a2", "s3", "a3"), analyzerCalls);
+    }
+
+    @Test
+    public void testTimedOutQueuedLeaderLeavesTheQueue() {
+        service.submit(user("u", false), "s1", "beginner");
+        CourseGenerationJobEntity queued = service.submit(user("u", false), "s2", "beginner");
+        assertEquals(1, service.getMetrics().get("queuedJobs"));
+
+        when(repository.findByStatusInAndUpdatedAtLessThan(any(), anyLong())).thenReturn(List.of(queued));
+        service.failTimedOutJobs();
+
+        assertEquals(Status.FAILED, jobs.get(queued.getId()).getStatus());
+        assertEquals(0, service.getMetrics().get("queuedJobs"));
+        assertEquals(0, service.getMetrics().get("queuedUsers"));
+
+        service.onCoursePathCreated(new CoursePathCreatedEvent(this,
+                CoursePathEntity.builder().id("course-s1").generationRequestId("request-s1").build()));
+        assertEquals(List.of("s1"), analyzerCalls);
+        assertEquals(1, service.availableSlots());
+    }
+
+    private static UserEntity user(String id, boolean admin) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setRoles(new ArrayList<>(admin ? List.of("USER", "ADMIN") : List.of("USER")));
+        return user;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.skillmateai.content.services;
+
+import com.example.skillmateai.content.entities.CoursePathEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoursePathReuseIndexTest {
+
+    private final CoursePathReuseIndex index = new CoursePathReuseIndex(null);
+
+    @Test
+    public void testMatchesSubjectRegardlessOfCaseAndOrder() {
+        index.add(course("c1", "Python Programming", null, "beginner", 1));
+
+        assertEquals(Optional.of("c1"), index.findEquivalent("  programming PYTHON ", "Beginner"));
+        assertEquals(Optional.empty(), index.findEquivalent("Python Programming", "advanced"));
+    }
+
+    @Test
+    public void testFallsBackToTitleWithoutFillerWords() {
+        index.add(course("legacy", null, "Mastering Java: A Beginner's Learning Path", "beginner", 1));
+
+        assertEquals(Optional.of("legacy"), index.findEquivalent("Java", "beginner"));
+        assertEquals(Optional.empty(), index.findEquivalent("JavaScript", "beginner"));
+    }
+
+    @Test
+    public void testRejectsLooseMatchesAndPrefersNewestOnTies() {
+        index.add(course("broad", "Machine Learning with Python and TensorFlow on GPUs", null, "intermediate", 1));
+        assertEquals(Optional.empty(), index.findEquivalent("Python", "intermediate"));
+
+        index.add(course("old", "Docker", null, "beginner", 1));
+        index.add(course("new", "docker", null, "beginner", 2));
+        assertEquals(Optional.of("new"), index.findEquivalent("Docker", "beginner"));
+
+        index.remove("new");
+        assertEquals(Optional.of("old"), index.findEquivalent("Docker", "beginner"));
+    }
+
+    private static CoursePathEntity course(String id, String subject, String title, String level, long createdAt) {
+        return CoursePathEntity.builder()
+                .id(id)
+                .subject(subject)
+                .title(title != null ? title : subject + " Learning Path")
+                .targetLevel(level)
+                .createdAt(createdAt)
+                .build();
+    }
+}
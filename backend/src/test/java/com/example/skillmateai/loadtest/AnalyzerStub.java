@@ -0,0 +1,296 @@
+package com.example.skillmateai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline stand-in for the ai-analyzer service. It serves {@code POST /api/v1/generate-course-path} with the same
+ * 202 response as ai-analyzer/src/api_config/main.py and then writes the same documents in the background:
+ * one content_topic document per topic as it is "analyzed", then the content_coursePath document, the user's
+ * back-references and a progress document. A failed generation removes the topics it already stored, and a
+ * creator with the SERVICE role is not enrolled in the course. YouTube and Gemini are replaced by configurable sleeps.
+ * <p>
+ * Run {@link #main(String[])} and start the backend with {@code --aiAnalyzer.baseUrl=http://localhost:5055}.
+ * System properties (defaults in brackets):
+ * <ul>
+ *     <li>{@code stub.port} [5055], {@code stub.mongoUri} [mongodb://localhost:27017], {@code stub.database} [skillmate_db]</li>
+ *     <li>{@code stub.acceptLatency} [fixed:20] - time to answer the 202</li>
+ *     <li>{@code stub.topicLatency} [lognormal:3000:0.5] - time to "analyze" each topic</li>
+ *     <li>{@code stub.topics} [8] - topics per course</li>
+ *     <li>{@code stub.rejectRate} [0.0] - share of requests answered with HTTP 500</li>
+ *     <li>{@code stub.failureRate} [0.0] - share of accepted requests that never store a course, like a failed generation</li>
+ *     <li>{@code stub.workers} [16] - concurrent background generations, like the analyzer's worker count</li>
+ * </ul>
+ */
+public class AnalyzerStub implements AutoCloseable {
+
+    private static final Set<String> VALID_DIFFICULTIES = Set.of("beginner", "intermediate", "advanced");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MongoClient mongoClient;
+    private final MongoDatabase database;
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    private final LatencyDistribution acceptLatency;
+    private final LatencyDistribution topicLatency;
+    private final int topicsPerCourse;
+    private final double rejectRate;
+    private final double failureRate;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AnalyzerStub(int port, String mongoUri, String databaseName, LatencyDistribution acceptLatency,
+                        LatencyDistribution topicLatency, int topicsPerCourse, double rejectRate, double failureRate,
+                        int workerCount) throws IOException {
+        this.mongoClient = MongoClients.create(mongoUri);
+        this.database = mongoClient.getDatabase(databaseName);
+        this.acceptLatency = acceptLatency;
+        this.topicLatency = topicLatency;
+        this.topicsPerCourse = topicsPerCourse;
+        this.rejectRate = rejectRate;
+        this.failureRate = failureRate;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/v1/generate-course-path", this::handleGenerate);
+        server.createContext("/api/v1/health", exchange -> respond(exchange, 200, Map.of("status", "healthy", "service", "Analyzer stub")));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public static void main(String[] args) throws Exception {
+        AnalyzerStub stub = new AnalyzerStub(
+                Integer.getInteger("stub.port", 5055),
+                System.getProperty("stub.mongoUri", "mongodb://localhost:27017"),
+                System.getProperty("stub.database", "skillmate_db"),
+                LatencyDistribution.parse(System.getProperty("stub.acceptLatency", "fixed:20")),
+                LatencyDistribution.parse(System.getProperty("stub.topicLatency", "lognormal:3000:0.5")),
+                Integer.getInteger("stub.topics", 8),
+                Double.parseDouble(System.getProperty("stub.rejectRate", "0.0")),
+                Double.parseDouble(System.getProperty("stub.failureRate", "0.0")),
+                Integer.getInteger("stub.workers", 16));
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        stub.start();
+        System.out.printf("Analyzer stub listening on port %d (accept %s, topic %s, %d topics, reject %.2f, fail %.2f)%n",
+                stub.getPort(), stub.acceptLatency, stub.topicLatency, stub.topicsPerCourse, stub.rejectRate, stub.failureRate);
+        Thread.currentThread().join();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("stored", stored.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+        mongoClient.close();
+        System.out.println("Analyzer stub stats: " + stats());
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, Map.of("detail", "Method Not Allowed"));
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> request = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            String subject = request.get("subject") instanceof String s ? s.trim() : "";
+            String difficulty = request.get("difficulty") instanceof String d ? d.toLowerCase() : "";
+            String email = request.get("email") instanceof String e ? e : null;
+
+            sleep(acceptLatency.sampleMillis());
+            if (!VALID_DIFFICULTIES.contains(difficulty)) {
+                respond(exchange, 400, Map.of("detail", "Invalid difficulty level. Must be one of: beginner, intermediate, advanced"));
+                return;
+            }
+            if (subject.isEmpty()) {
+                respond(exchange, 400, Map.of("detail", "Subject cannot be empty"));
+                return;
+            }
+            if (ThreadLocalRandom.current().nextDouble() < rejectRate) {
+                rejected.incrementAndGet();
+                respond(exchange, 500, Map.of("detail", "Internal server error"));
+                return;
+            }
+
+            String requestId = UUID.randomUUID().toString();
+            accepted.incrementAndGet();
+            workers.execute(() -> generateAndStore(subject, difficulty, requestId, email));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("requestId", requestId);
+            response.put("status", "accepted");
+            response.put("message", "Course generation started. Poll MongoDB or future status endpoint for results.");
+            response.put("subject", subject);
+            response.put("difficulty", difficulty);
+            response.put("email", email);
+            respond(exchange, 202, response);
+        } catch (Exception e) {
+            respond(exchange, 500, Map.of("detail", "Internal server error"));
+        }
+    }
+
+    /**
+     * Mirrors _background_generate_and_store and _persist_course_path in the analyzer.
+     */
+    private void generateAndStore(String subject, String difficulty, String requestId, String email) {
+        boolean courseStored = false;
+        try {
+            boolean fails = ThreadLocalRandom.current().nextDouble() < failureRate;
+            int failAfter = fails ? ThreadLocalRandom.current().nextInt(topicsPerCourse + 1) : Integer.MAX_VALUE;
+
+            List<String> topicIds = new ArrayList<>();
+            for (int position = 1; position <= topicsPerCourse; position++) {
+                sleep(topicLatency.sampleMillis());
+                if (position > failAfter) {
+                    break;
+                }
+                String topicId = "topic-" + UUID.randomUUID();
+                database.getCollection("content_topic").insertOne(new Document("_id", topicId)
+                        .append("name", subject + " - part " + position)
+                        .append("description", "Stub topic " + position + " of " + subject + " at " + difficulty + " level.")
+                        .append("videoInfo", new Document("youtubeUrl", "https://www.youtube.com/watch?v=stub" + position)
+                                .append("title", subject + " tutorial " + position)
+                                .append("startTime", 0)
+                                .append("endTime", 600))
+                        .append("prerequisites", List.of())
+                        .append("estimatedTimeMin", null)
+                        .append("tags", List.of(subject.toLowerCase()))
+                        .append("generationRequestId", requestId)
+                        .append("position", position));
+                topicIds.add(topicId);
+            }
+            if (fails) {
+                failed.incrementAndGet();
+                discardTopics(requestId);
+                return;
+            }
+
+            Object userId = null;
+            String userDisplay = null;
+            boolean enrollCreator = false;
+            if (email != null) {
+                Document user = database.getCollection("user").find(Filters.eq("email", email)).first();
+                if (user != null) {
+                    userId = user.get("_id");
+                    userDisplay = user.getString("name") != null ? user.getString("name")
+                            : user.getString("fullName") != null ? user.getString("fullName") : email;
+                    // Catalog pre-generation runs as a service account, which creates courses without taking them
+                    List<?> roles = user.getList("roles", Object.class);
+                    enrollCreator = roles == null || !roles.contains("SERVICE");
+                }
+            }
+
+            String courseId = "course-" + UUID.randomUUID();
+            long now = System.currentTimeMillis();
+            database.getCollection("content_coursePath").insertOne(new Document("_id", courseId)
+                    .append("creatorId", userId)
+                    .append("title", subject + " Learning Path")
+                    .append("subject", subject)
+                    .append("generationRequestId", requestId)
+                    .append("description", "A step-by-step learning path for mastering " + subject + " at " + difficulty + " level.")
+                    .append("targetLevel", difficulty)
+                    .append("createdAt", now)
+                    .append("createdBy", userDisplay != null ? userDisplay : "analyzer-service")
+                    .append("topics", topicIds)
+                    .append("reviewCount", 0L)
+                    .append("ratingSum", 0L)
+                    .append("averageRating", null)
+                    .append("enrollmentCount", enrollCreator ? 1 : 0));
+            courseStored = true;
+
+            if (userId != null) {
+                database.getCollection("user").updateOne(Filters.eq("_id", userId), Updates.addToSet("createdCoursePaths", courseId));
+            }
+            if (enrollCreator) {
+                database.getCollection("user").updateOne(Filters.eq("_id", userId), Updates.addToSet("enrolledCoursePaths", courseId));
+
+                String progressId = "progress-" + UUID.randomUUID();
+                List<Document> progress = topicIds.stream()
+                        .map(topicId -> new Document("topicId", topicId).append("isCovered", false).append("lastUpdated", now))
+                        .toList();
+                database.getCollection("content_userCourseProgress").insertOne(new Document("_id", progressId)
+                        .append("userId", userId)
+                        .append("coursePathId", courseId)
+                        .append("startedAt", now)
+                        .append("readiness", 0)
+                        .append("progress", progress));
+                database.getCollection("user").updateOne(Filters.eq("_id", userId), Updates.addToSet("courseProgressList", progressId));
+            }
+            stored.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.err.println("Stub generation " + requestId + " failed: " + e.getMessage());
+            if (!courseStored) {
+                discardTopics(requestId);
+            }
+        }
+    }
+
+    /**
+     * Mirrors _discard_topics: topics of a request that never got its course document do not linger.
+     */
+    private void discardTopics(String requestId) {
+        try {
+            database.getCollection("content_topic").deleteMany(Filters.eq("generationRequestId", requestId));
+        } catch (Exception e) {
+            System.err.println("Stub could not remove topics of failed request " + requestId + ": " + e.getMessage());
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.skillmateai.loadtest;
+
+import com.example.skillmateai.common.metrics.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives course generation through the real backend (CoursePathController) and measures submit-to-ready latency
+ * and throughput. Each virtual user logs in, submits generation requests and polls its jobs until they complete
+ * or fail. Pair it with {@link AnalyzerStub} so no YouTube or Gemini calls are made.
+ * <p>
+ * Load users (loadtest-N@example.test) are created directly in MongoDB as verified accounts if they do not exist.
+ * System properties (defaults in brackets):
+ * <ul>
+ *     <li>{@code load.baseUrl} [http://localhost:8080], {@code load.mongoUri} [mongodb://localhost:27017],
+ *     {@code load.database} [skillmate_db]</li>
+ *     <li>{@code load.users} [10], {@code load.requestsPerUser} [3]</li>
+ *     <li>{@code load.subjects} [20] - size of the subject pool; a smaller pool means more identical requests</li>
+ *     <li>{@code load.force} [true] - bypass reuse of existing courses, so every request exercises generation</li>
+ *     <li>{@code load.pollMillis} [500], {@code load.timeoutSeconds} [600]</li>
+ * </ul>
+ */
+public class GenerationLoadDriver {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final List<String> DIFFICULTIES = List.of("beginner", "intermediate", "advanced");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final String mongoUri = System.getProperty("load.mongoUri", "mongodb://localhost:27017");
+    private final String databaseName = System.getProperty("load.database", "skillmate_db");
+    private final int users = Integer.getInteger("load.users", 10);
+    private final int requestsPerUser = Integer.getInteger("load.requestsPerUser", 3);
+    private final int subjectPool = Integer.getInteger("load.subjects", 20);
+    private final boolean force = Boolean.parseBoolean(System.getProperty("load.force", "true"));
+    private final long pollMillis = Long.getLong("load.pollMillis", 500);
+    private final long timeoutMillis = TimeUnit.SECONDS.toMillis(Long.getLong("load.timeoutSeconds", 600));
+
+    private final LatencyHistogram submitLatency = new LatencyHistogram();
+    private final LatencyHistogram readyLatency = new LatencyHistogram();
+    private final Map<Integer, AtomicLong> submitStatuses = new ConcurrentHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        new GenerationLoadDriver().run();
+    }
+
+    public void run() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (String email : seedUsers()) {
+            tokens.add(login(email));
+        }
+        System.out.printf("Running %d users x %d requests against %s (subject pool %d, force=%s)%n",
+                users, requestsPerUser, baseUrl, subjectPool, force);
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String token : tokens) {
+                for (int i = 0; i < requestsPerUser; i++) {
+                    executor.execute(() -> generateOnce(token));
+                }
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        System.out.println("==== Generation load results ====");
+        System.out.printf("Wall time:          %.1f s%n", elapsedSeconds);
+        System.out.printf("Ready:              %d (%.3f courses/s)%n", completed.get(), completed.get() / elapsedSeconds);
+        System.out.printf("Failed / timed out: %d / %d%n", failed.get(), timedOut.get());
+        System.out.printf("Reused existing:    %d%n", reused.get());
+        System.out.println("Submit statuses:    " + submitStatuses);
+        System.out.println("Submit latency:     " + submitLatency.snapshot());
+        System.out.println("Submit-to-ready:    " + readyLatency.snapshot());
+    }
+
+    private void generateOnce(String token) {
+        String subject = "Load subject " + ThreadLocalRandom.current().nextInt(subjectPool);
+        String difficulty = DIFFICULTIES.get(ThreadLocalRandom.current().nextInt(DIFFICULTIES.size()));
+        long startedAt = System.nanoTime();
+        try {
+            Map<String, Object> body = Map.of("subject", subject, "difficulty", difficulty, "force", force);
+            HttpResponse<String> response;
+            while (true) {
+                long submitStartedAt = System.nanoTime();
+                response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/content/course-path/generate"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+                submitLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitStartedAt));
+                submitStatuses.computeIfAbsent(response.statusCode(), status -> new AtomicLong()).incrementAndGet();
+                if (response.statusCode() != 429) {
+                    break;
+                }
+                // Fair-share queue is full for this user, honour the retry hint
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(5);
+                TimeUnit.SECONDS.sleep(retryAfter);
+            }
+
+            if (response.statusCode() == 200) {
+                reused.incrementAndGet();
+                return;
+            }
+            if (response.statusCode() != 202) {
+                failed.incrementAndGet();
+                return;
+            }
+
+            Map<?, ?> job = (Map<?, ?>) objectMapper.readValue(response.body(), Map.class).get("job");
+            String jobId = String.valueOf(job.get("jobId"));
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(pollMillis);
+                HttpResponse<String> status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/content/course-path/generate/" + jobId))
+                        .header("Authorization", "Bearer " + token)
+                        .GET());
+                Map<?, ?> current = (Map<?, ?>) objectMapper.readValue(status.body(), Map.class).get("job");
+                Object state = current != null ? current.get("status") : null;
+                if ("COMPLETED".equals(state)) {
+                    completed.incrementAndGet();
+                    readyLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    return;
+                }
+                if ("FAILED".equals(state)) {
+                    failed.incrementAndGet();
+                    return;
+                }
+            }
+            timedOut.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            System.err.println("Generation request failed: " + e.getMessage());
+        }
+    }
+
+    private List<String> seedUsers() {
+        List<String> emails = new ArrayList<>();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        try (MongoClient mongoClient = MongoClients.create(mongoUri)) {
+            MongoCollection<Document> userCollection = mongoClient.getDatabase(databaseName).getCollection("user");
+            String passwordHash = encoder.encode(PASSWORD);
+            for (int i = 0; i < users; i++) {
+                String email = "loadtest-" + i + "@example.test";
+                if (userCollection.find(Filters.eq("email", email)).first() == null) {
+                    long now = System.currentTimeMillis();
+                    userCollection.insertOne(new Document("email", email)
+                            .append("password", passwordHash)
+                            .append("firstName", "Load")
+                            .append("lastName", "User " + i)
+                            .append("isVerified", true)
+                            .append("isAccountEnabled", true)
+                            .append("isBlocked", false)
+                            .append("createdAt", now)
+                            .append("updatedAt", now)
+                            .append("roles", List.of("USER"))
+                            .append("tokenVersion", 0L)
+                            .append("enrolledCoursePaths", List.of())
+                            .append("createdCoursePaths", List.of()));
+                }
+                emails.add(email);
+            }
+        }
+        return emails;
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD)))));
+        Object jwt = objectMapper.readValue(response.body(), Map.class).get("jwt");
+        if (response.statusCode() != 200 || jwt == null) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode() + " " + response.body());
+        }
+        return jwt.toString();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
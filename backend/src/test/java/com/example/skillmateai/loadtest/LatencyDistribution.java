@@ -0,0 +1,48 @@
+package com.example.skillmateai.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency model for the analyzer stub, parsed from a short spec:
+ * <ul>
+ *     <li>{@code fixed:500} - always 500 ms</li>
+ *     <li>{@code uniform:200-800} - uniformly between 200 and 800 ms</li>
+ *     <li>{@code lognormal:2000:0.5} - log-normal with a 2000 ms median and sigma 0.5, the usual shape of LLM calls</li>
+ * </ul>
+ */
+public record LatencyDistribution(String kind, double first, double second) {
+
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return new LatencyDistribution("fixed", Double.parseDouble(parts[1]), 0);
+            case "uniform":
+                String[] bounds = parts[1].split("-");
+                return new LatencyDistribution("uniform", Double.parseDouble(bounds[0]), Double.parseDouble(bounds[1]));
+            case "lognormal":
+                return new LatencyDistribution("lognormal", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+
+    public long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = switch (kind) {
+            case "uniform" -> first + random.nextDouble() * (second - first);
+            case "lognormal" -> first * Math.exp(second * random.nextGaussian());
+            default -> first;
+        };
+        return Math.max(0, Math.round(millis));
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case "uniform" -> "uniform:" + (long) first + "-" + (long) second;
+            case "lognormal" -> "lognormal:" + (long) first + ":" + second;
+            default -> "fixed:" + (long) first;
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.skillmateai.user.utilities;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a bearer token before and after the single-parse pipeline.
+ * Not part of the surefire run; start main() from the IDE or run org.openjdk.jmh.Main JwtUtilBenchmark on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String JWT_KEY = "benchmark-access-token-secret-key-0123456789abcdef";
+    private static final String REFRESH_KEY = "benchmark-refresh-token-secret-key-0123456789abcdef";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecretKey", JWT_KEY);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenSecretKey", REFRESH_KEY);
+        jwtUtil.initSigningKeys();
+        token = jwtUtil.generateToken("benchmark@just.edu.bd", false);
+    }
+
+    /**
+     * What JwtFilter used to do: extractEmail, then validateToken, which parsed again and once more for the expiry,
+     * deriving the key and building a parser every time.
+     */
+    @Benchmark
+    public boolean previousThreeParses() {
+        String email = legacyClaims().getSubject();
+        legacyClaims();
+        boolean valid = !legacyClaims().getExpiration().before(new Date());
+        return email != null && valid;
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = jwtUtil.verifyToken(token, false);
+        return claims.getSubject() != null;
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(JWT_KEY.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}